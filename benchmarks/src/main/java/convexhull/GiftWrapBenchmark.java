@@ -0,0 +1,91 @@
+package convexhull;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GiftWrapBenchmark.java
+ * <p/>
+ * Measures Jarvis's March and its parallel version. They take O(nh) time, which on the circle is quadratic, so they are measured
+ * on smaller inputs than HullEngineBenchmark uses. The distributions with small hulls are also measured at n = 10^5, in Large;
+ * the circle at that size would take minutes an operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class GiftWrapBenchmark {
+
+    @Param({"JarvisMarch", "ParallelJarvis"})
+    public String engine;
+
+    @Param
+    public Distribution distribution;
+
+    @Param({"100", "1000", "10000"})
+    public int n;
+
+    private HullEngine hullEngine;
+
+    private PointSet points;
+
+    @Setup
+    public void setUp() {
+        hullEngine = HullEngineBenchmark.engine(engine);
+        points = distribution.generate(n, (long) n);
+    }
+
+    @Benchmark
+    public int[] computeHull() {
+        return hullEngine.computeHull(points);
+    }
+
+    /**
+     * The distributions other than the circle at n = 10^5.
+     */
+    @State(Scope.Benchmark)
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+    public static class Large {
+
+        @Param({"JarvisMarch", "ParallelJarvis"})
+        public String engine;
+
+        @Param({"UNIFORM_SQUARE", "UNIFORM_DISK", "GAUSSIAN", "CLUSTERED"})
+        public Distribution distribution;
+
+        @Param({"100000"})
+        public int n;
+
+        private HullEngine hullEngine;
+
+        private PointSet points;
+
+        @Setup
+        public void setUp() {
+            hullEngine = HullEngineBenchmark.engine(engine);
+            points = distribution.generate(n, (long) n);
+        }
+
+        @Benchmark
+        public int[] computeHull() {
+            return hullEngine.computeHull(points);
+        }
+    }
+}
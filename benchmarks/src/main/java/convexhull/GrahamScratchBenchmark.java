@@ -0,0 +1,108 @@
+package convexhull;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GrahamScratchBenchmark.java
+ * <p/>
+ * Measures Graham's Scan writing into a reused hull array and HullScratch, which should allocate nothing once the scratch has
+ * grown. Running this class checks that it does: it runs the benchmark with the GC profiler and fails if any case allocates more
+ * than ALLOCATION_LIMIT bytes per operation. The profiler divides all the allocation in the JVM by the operations, so on large
+ * inputs, where one operation takes milliseconds, the JVM's own background allocation shows up as tens or hundreds of bytes per
+ * operation. The check therefore uses the sizes where a single object allocated per call would stand out.
+ * <p/>
+ * java -cp benchmarks/target/benchmarks.jar convexhull.GrahamScratchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class GrahamScratchBenchmark {
+
+    /**
+     * The most bytes per operation the check accepts: half the size of the smallest object.
+     */
+    static final double ALLOCATION_LIMIT = 8;
+
+    /**
+     * The sizes the check runs.
+     */
+    static final String[] CHECKED_SIZES = {"1000", "10000"};
+
+    @Param
+    public Distribution distribution;
+
+    @Param({"100", "1000", "100000", "1000000", "10000000"})
+    public int n;
+
+    private final GrahamScanEngine engine = new GrahamScanEngine();
+
+    private final HullScratch scratch = new HullScratch();
+
+    private double[] xs;
+
+    private double[] ys;
+
+    private int[] hull;
+
+    @Setup
+    public void setUp() {
+        PointSet points = distribution.generate(n, (long) n);
+        xs = points.getXs();
+        ys = points.getYs();
+        hull = new int[n];
+    }
+
+    @Benchmark
+    public int computeHull() {
+        return engine.computeHull(xs, ys, n, hull, scratch);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(GrahamScratchBenchmark.class.getName() + ".computeHull")
+                .mode(Mode.AverageTime)
+                .param("n", CHECKED_SIZES)
+                .addProfiler(GCProfiler.class)
+                .build();
+        int failures = 0;
+        for (RunResult run : new Runner(options).run()) {
+            Result allocated = run.getSecondaryResults().get("gc.alloc.rate.norm");
+            String name = run.getParams().getParam("distribution") + " n=" + run.getParams().getParam("n");
+            if (allocated == null) {
+                System.out.println(name + ": the GC profiler reported no allocation rate");
+                failures++;
+            } else if (allocated.getScore() > ALLOCATION_LIMIT) {
+                System.out.printf("%s: allocates %.1f bytes per operation%n", name, allocated.getScore());
+                failures++;
+            } else {
+                System.out.printf("%s: %.3f bytes per operation%n", name, allocated.getScore());
+            }
+        }
+        if (failures > 0) {
+            System.out.println(failures + " cases allocate");
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package convexhull;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HullEngineBenchmark.java
+ * <p/>
+ * Measures the hull engines that run in O(n log n) time on every Distribution. Each engine, distribution and size runs in a JVM
+ * of its own, so that no engine is measured with the profile another one left behind. Times are sampled, so the results include
+ * latency percentiles; add -prof gc for the bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class HullEngineBenchmark {
+
+    @Param({"GrahamScan", "MonotoneChain", "Chan", "QuickHull", "DivideAndConquer", "AklToussaintGraham"})
+    public String engine;
+
+    @Param
+    public Distribution distribution;
+
+    @Param({"100", "1000", "100000", "1000000", "10000000"})
+    public int n;
+
+    private HullEngine hullEngine;
+
+    private PointSet points;
+
+    @Setup
+    public void setUp() {
+        hullEngine = engine(engine);
+        points = distribution.generate(n, (long) n);
+    }
+
+    @Benchmark
+    public int[] computeHull() {
+        return hullEngine.computeHull(points);
+    }
+
+    /**
+     * Get an engine by the name used in the parameters.
+     */
+    static HullEngine engine(String name) {
+        if (name.equals("GrahamScan")) {
+            return new GrahamScanEngine();
+        } else if (name.equals("MonotoneChain")) {
+            return new MonotoneChainEngine();
+        } else if (name.equals("Chan")) {
+            return new ChanEngine();
+        } else if (name.equals("QuickHull")) {
+            return new QuickHullEngine();
+        } else if (name.equals("DivideAndConquer")) {
+            return new DivideAndConquerEngine();
+        } else if (name.equals("AklToussaintGraham")) {
+            return new AklToussaintFilter(new GrahamScanEngine());
+        } else if (name.equals("JarvisMarch")) {
+            return new JarvisMarchEngine();
+        } else if (name.equals("ParallelJarvis")) {
+            return new ParallelJarvisMarchEngine();
+        }
+        throw new IllegalArgumentException("Unknown engine: " + name);
+    }
+}
@@ -0,0 +1,65 @@
+package convexhull;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KernelBenchmark.java
+ * <p/>
+ * Measures the Vector API kernels against the scalar loops they replace, on the same points and in the same JVM.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class KernelBenchmark {
+
+    @Param({"vector", "scalar"})
+    public String kernel;
+
+    @Param({"1000", "100000"})
+    public int n;
+
+    private boolean vector;
+
+    private double[] xs;
+
+    private double[] ys;
+
+    @Setup
+    public void setUp() {
+        vector = kernel.equals("vector");
+        PointSet set = Distribution.UNIFORM_SQUARE.generate(n, (long) n);
+        xs = set.getXs();
+        ys = set.getYs();
+    }
+
+    @Benchmark
+    public double leftMargin() {
+        if (vector) {
+            return VectorKernels.leftMargin(xs, ys, 0, n, 0, 0, 1, 0);
+        }
+        return OrientationKernels.leftMarginScalar(xs, ys, 0, n, 0, 0, 1, 0);
+    }
+
+    @Benchmark
+    public int lowest() {
+        if (vector) {
+            return VectorKernels.minimum(ys, xs, 0, n, 1);
+        }
+        return OrientationKernels.minimumScalar(ys, xs, 0, n, 1);
+    }
+}
@@ -0,0 +1,61 @@
+package convexhull;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PolarSortBenchmark.java
+ * <p/>
+ * Measures the polar sort around the lowest point, which labels the points for the animations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class PolarSortBenchmark {
+
+    @Param
+    public Distribution distribution;
+
+    @Param({"100", "1000", "100000", "1000000", "10000000"})
+    public int n;
+
+    private double[] xs;
+
+    private double[] ys;
+
+    private int pivot;
+
+    @Setup
+    public void setUp() {
+        PointSet points = distribution.generate(n, (long) n);
+        xs = points.getXs();
+        ys = points.getYs();
+        pivot = Geometry.lowest(xs, ys, n);
+    }
+
+    @Benchmark
+    public int[] sort() {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        order[pivot] = 0;
+        order[0] = pivot;
+        PolarSort.sort(order, 1, n, xs, ys, xs[pivot], ys[pivot]);
+        return order;
+    }
+}
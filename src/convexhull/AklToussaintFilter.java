@@ -0,0 +1,189 @@
+package convexhull;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AklToussaintFilter.java
+ * <p/>
+ * Akl-Toussaint interior point culling in front of another engine. One pass finds the extreme points in x, y, x + y and x - y,
+ * which are all hull vertices, and a second pass throws away every point strictly inside the octagon they form before the
+ * remaining points are handed to the wrapped engine. On uniform data this removes most of the input. The filter keeps running
+ * totals of the points it has looked at and removed.
+ */
+public class AklToussaintFilter extends HullEngine {
+
+    private final HullEngine engine;
+
+    private final AtomicLong pointsExamined = new AtomicLong();
+
+    private final AtomicLong pointsRemoved = new AtomicLong();
+
+    /**
+     * Constructor
+     *
+     * @param engine the engine to compute the hull of the points that survive.
+     */
+    public AklToussaintFilter(HullEngine engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    public int[] computeHull(double[] xs, double[] ys, int n, HullListener listener) {
+        checkPoints(xs, ys, n);
+        HullStats.PhaseEvent start = HullStats.startPhase();
+        int[] kept = survivors(xs, ys, n);
+        pointsExamined.addAndGet(n);
+        pointsRemoved.addAndGet(n - kept.length);
+        double[] keptXs = new double[kept.length];
+        double[] keptYs = new double[kept.length];
+        for (int k = 0; k < kept.length; k++) {
+            keptXs[k] = xs[kept[k]];
+            keptYs[k] = ys[kept[k]];
+        }
+        HullStats.endPhase(HullStats.Phase.FILTER, start, n);
+        int[] hull = engine.computeHull(keptXs, keptYs, kept.length, listener == null ? null : new Remap(kept, listener));
+        for (int k = 0; k < hull.length; k++) {
+            hull[k] = kept[hull[k]];
+        }
+        return hull;
+    }
+
+    /**
+     * Get the total number of points this filter has been given.
+     */
+    public long getPointsExamined() {
+        return pointsExamined.get();
+    }
+
+    /**
+     * Get the total number of points this filter has removed.
+     */
+    public long getPointsRemoved() {
+        return pointsRemoved.get();
+    }
+
+    /**
+     * Get the indices of the points that are not strictly inside the octagon of extreme points, in their original order.
+     *
+     * @param xs the x coordinates.
+     * @param ys the y coordinates.
+     * @param n  the number of points.
+     * @return the indices of the surviving points.
+     */
+    public static int[] survivors(double[] xs, double[] ys, int n) {
+        int[] octagon = octagon(xs, ys, n);
+        int[] kept = new int[n];
+        int size = 0;
+        if (octagon.length < 3) {
+            for (int i = 0; i < n; i++) {
+                kept[size++] = i;
+            }
+            return kept;
+        }
+        int sides = octagon.length;
+        double[] ox = new double[sides + 1];
+        double[] oy = new double[sides + 1];
+        for (int k = 0; k <= sides; k++) {
+            ox[k] = xs[octagon[k % sides]];
+            oy[k] = ys[octagon[k % sides]];
+        }
+        for (int i = 0; i < n; i++) {
+            double x = xs[i];
+            double y = ys[i];
+            boolean inside = true;
+            for (int k = 0; k < sides; k++) {
+                inside &= Geometry.orientation(ox[k], oy[k], ox[k + 1], oy[k + 1], x, y) > 0;
+            }
+            if (!inside) {
+                kept[size++] = i;
+            }
+        }
+        HullStats.culled(n - size);
+        return Arrays.copyOf(kept, size);
+    }
+
+    /**
+     * Find the extreme points in counter-clockwise order, starting from the lowest, with repeats removed.
+     *
+     * @return the indices of the octagon's corners.
+     */
+    static int[] octagon(double[] xs, double[] ys, int n) {
+        if (n == 0) {
+            return new int[0];
+        }
+        int minX = 0, maxX = 0, minY = 0, maxY = 0, minSum = 0, maxSum = 0, minDiff = 0, maxDiff = 0;
+        for (int i = 1; i < n; i++) {
+            double x = xs[i];
+            double y = ys[i];
+            if (x < xs[minX]) {
+                minX = i;
+            }
+            if (x > xs[maxX]) {
+                maxX = i;
+            }
+            if (y < ys[minY]) {
+                minY = i;
+            }
+            if (y > ys[maxY]) {
+                maxY = i;
+            }
+            if (x + y < xs[minSum] + ys[minSum]) {
+                minSum = i;
+            }
+            if (x + y > xs[maxSum] + ys[maxSum]) {
+                maxSum = i;
+            }
+            if (x - y < xs[minDiff] - ys[minDiff]) {
+                minDiff = i;
+            }
+            if (x - y > xs[maxDiff] - ys[maxDiff]) {
+                maxDiff = i;
+            }
+        }
+        int[] corners = {minY, maxDiff, maxX, maxSum, maxY, minDiff, minX, minSum};
+        int[] octagon = new int[corners.length];
+        int size = 0;
+        for (int k = 0; k < corners.length; k++) {
+            int i = corners[k];
+            if (size == 0 || !(xs[i] == xs[octagon[size - 1]] && ys[i] == ys[octagon[size - 1]])) {
+                octagon[size++] = i;
+            }
+        }
+        while (size > 1 && xs[octagon[size - 1]] == xs[octagon[0]] && ys[octagon[size - 1]] == ys[octagon[0]]) {
+            size--;
+        }
+        return Arrays.copyOf(octagon, size);
+    }
+
+    /**
+     * Translates the indices the wrapped engine reports back to the caller's indices.
+     */
+    private static class Remap implements HullListener {
+
+        private final int[] kept;
+
+        private final HullListener listener;
+
+        Remap(int[] kept, HullListener listener) {
+            this.kept = kept;
+            this.listener = listener;
+        }
+
+        public void pushed(int index) {
+            listener.pushed(kept[index]);
+        }
+
+        public void popped(int index) {
+            listener.popped(kept[index]);
+        }
+
+        public void candidate(int from, int to) {
+            listener.candidate(kept[from], kept[to]);
+        }
+
+        public void edgeAdded(int from, int to) {
+            listener.edgeAdded(kept[from], kept[to]);
+        }
+    }
+}
@@ -6,15 +6,33 @@ import java.util.logging.Logger;
 /**
  * Algorithm.java
  * <p/>
- * Abstract superclass for convex hull algorithms
+ * Abstract superclass for the animated convex hull algorithms. The hull itself is computed by a headless HullEngine at full
+ * speed, recording its steps in a HullTrace, and the trace is then played back on the pane by a TracePlayer. An Algorithm is the
+ * scene the trace plays to: its listener methods update what is shown, and render draws the graph with the algorithm's own
+ * overlay on top. The listener methods do nothing by default.
  *
  * @author Chet Mancini Wheaton College, CS 445, Fall 2008 Convex Hull Project Dec 4, 2008
  */
-public abstract class Algorithm {
+public abstract class Algorithm implements TracePlayer.Scene {
+
+    /**
+     * Playback never goes slower than this many steps per second.
+     */
+    private static final double MIN_SPEED = 4;
+
+    /**
+     * Playback of long traces is sped up to take about this long.
+     */
+    private static final double PLAYBACK_SECONDS = 30;
 
     protected Graph graph = Graph.getInstance();
     protected Draw pane = Draw.getInstance();
 
+    /**
+     * The player of the current trace, or null before the first one.
+     */
+    private volatile TracePlayer player;
+
     /**
      * Pause for half a second.
      */
@@ -39,5 +57,75 @@ public abstract class Algorithm {
         }
     }
 
+    /**
+     * Play a recorded computation on the pane, returning when it is done. Short traces play at a few steps per second, and long
+     * ones at whatever speed shows them in about half a minute. A trace that has lost its first steps would start from a state
+     * the scene never saw, so instead of playing it the hull edges are reported straight away and drawn in one frame.
+     *
+     * @param trace the steps of the computation.
+     * @param hull  the hull the computation found.
+     */
+    protected void play(HullTrace trace, int[] hull) {
+        if (trace.getDropped() > 0) {
+            Logger.getLogger(Algorithm.class.getName()).log(Level.INFO,
+                    "The computation took more than {0} steps; showing the hull without the animation",
+                    trace.end() - trace.getDropped());
+            for (int i = 0; i < hull.length && hull.length > 1; i++) {
+                edgeAdded(hull[i], hull[(i + 1) % hull.length]);
+            }
+            render();
+            return;
+        }
+        double speed = Math.max(MIN_SPEED, (trace.end() - trace.first()) / PLAYBACK_SECONDS);
+        player = new TracePlayer(trace, this, speed);
+        player.play();
+    }
+
+    /**
+     * Get the player of the current trace, to change its speed or seek in it.
+     *
+     * @return the player, or null if nothing has played yet.
+     */
+    public TracePlayer getPlayer() {
+        return player;
+    }
+
+    /**
+     * Remove the edges the steps have added.
+     */
+    public void reset() {
+        graph.clearEdges();
+    }
+
+    /**
+     * Draw what has changed in the graph since the last frame, and the overlay, and show them. The frame is drawn holding the
+     * graph's lock, so that a redraw after the view moves never lands in the middle of it.
+     */
+    public void render() {
+        synchronized (graph) {
+            graph.drawChanges();
+            drawOverlay();
+            pane.showChanges();
+        }
+    }
+
+    /**
+     * Draw whatever the algorithm shows on top of the graph, with Graph.drawOverlayLine. Nothing by default.
+     */
+    protected void drawOverlay() {
+    }
+
+    public void pushed(int index) {
+    }
+
+    public void popped(int index) {
+    }
+
+    public void candidate(int from, int to) {
+    }
+
+    public void edgeAdded(int from, int to) {
+    }
+
     public abstract void runAlgorithm();
 }
@@ -0,0 +1,222 @@
+package convexhull;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * BatchHull.java
+ * <p/>
+ * Computes the hulls of many independent groups of points at once. The groups are laid out flat: one pair of coordinate arrays
+ * holding every group's points one group after another, and an array of offsets where offsets[g] is the first point of group g
+ * and offsets[g + 1] is one past its last. The groups are split into ranges holding about the same number of points and run on
+ * a fork/join pool, whose work stealing evens out groups of different sizes. Each range scans its groups with Graham's Scan in
+ * place in one shared index array, sorting with a buffer its worker thread keeps for every range it runs, so beyond the output
+ * nothing is allocated per group or per range. The buffer stays with the thread, sized for the largest group it has scanned.
+ * The hulls come back in the same flat layout.
+ */
+public class BatchHull {
+
+    /**
+     * Ranges of groups holding fewer points than this are not split further.
+     */
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 1 << 13;
+
+    /**
+     * The sort buffer of each thread that scans groups.
+     */
+    private static final ThreadLocal<HullScratch> SCRATCH = new ThreadLocal<HullScratch>() {
+        @Override
+        protected HullScratch initialValue() {
+            return new HullScratch();
+        }
+    };
+
+    private final ForkJoinPool pool;
+
+    private final int sequentialThreshold;
+
+    /**
+     * Constructor using the common pool.
+     */
+    public BatchHull() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param pool                the pool to run tasks in.
+     * @param sequentialThreshold ranges of groups with fewer points than this are not split further.
+     */
+    public BatchHull(ForkJoinPool pool, int sequentialThreshold) {
+        if (sequentialThreshold < 1) {
+            throw new IllegalArgumentException("Illegal threshold: " + sequentialThreshold);
+        }
+        this.pool = pool;
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    /**
+     * Compute the hull of every group.
+     *
+     * @param xs      the x coordinates of all the groups' points.
+     * @param ys      the y coordinates of all the groups' points.
+     * @param offsets the offsets of the groups: one more than the number of groups, never negative and never decreasing.
+     * @return the hulls.
+     * @throws IllegalArgumentException if the offsets are empty, negative or decreasing, or run past the coordinate arrays.
+     */
+    public Result computeHulls(double[] xs, double[] ys, int[] offsets) {
+        int groups = offsets.length - 1;
+        if (groups < 0) {
+            throw new IllegalArgumentException("Offsets must hold at least one entry");
+        }
+        if (offsets[0] < 0) {
+            throw new IllegalArgumentException("Negative offset: " + offsets[0]);
+        }
+        for (int g = 0; g < groups; g++) {
+            if (offsets[g] > offsets[g + 1]) {
+                throw new IllegalArgumentException("Offsets decrease at group " + g);
+            }
+        }
+        int first = offsets[0];
+        int last = offsets[groups];
+        if (xs.length < last || ys.length < last) {
+            throw new IllegalArgumentException("Coordinate arrays hold fewer than " + last + " points");
+        }
+        int[] work = new int[last];
+        int[] sizes = new int[groups];
+        Groups all = new Groups(xs, ys, offsets, 0, groups, work, sizes, sequentialThreshold);
+        if (groups > 0 && last - first > sequentialThreshold) {
+            pool.invoke(all);
+        } else {
+            all.compute();
+        }
+
+        int[] hullOffsets = new int[groups + 1];
+        for (int g = 0; g < groups; g++) {
+            hullOffsets[g + 1] = hullOffsets[g] + sizes[g];
+        }
+        int[] indices = new int[hullOffsets[groups]];
+        for (int g = 0; g < groups; g++) {
+            System.arraycopy(work, offsets[g], indices, hullOffsets[g], sizes[g]);
+        }
+        return new Result(hullOffsets, indices);
+    }
+
+    /**
+     * The hulls of a batch of groups.
+     */
+    public static class Result {
+
+        private final int[] offsets;
+
+        private final int[] indices;
+
+        Result(int[] offsets, int[] indices) {
+            this.offsets = offsets;
+            this.indices = indices;
+        }
+
+        /**
+         * Get the number of groups.
+         */
+        public int size() {
+            return offsets.length - 1;
+        }
+
+        /**
+         * Get the number of vertices on a group's hull.
+         */
+        public int size(int group) {
+            return offsets[group + 1] - offsets[group];
+        }
+
+        /**
+         * Get the indices of a group's hull vertices, in the coordinate arrays the batch was computed from, in counter-clockwise
+         * order starting from the group's lowest point.
+         */
+        public int[] getHull(int group) {
+            return Arrays.copyOfRange(indices, offsets[group], offsets[group + 1]);
+        }
+
+        /**
+         * Get the offsets of the hulls in getIndices, laid out like the offsets of the groups. Changes to the array show in the
+         * result.
+         */
+        public int[] getOffsets() {
+            return offsets;
+        }
+
+        /**
+         * Get every group's hull vertices one group after another. Changes to the array show in the result.
+         */
+        public int[] getIndices() {
+            return indices;
+        }
+    }
+
+    /**
+     * Computes the hulls of a range of groups, splitting it in half by points while it holds more than the threshold.
+     */
+    private static class Groups extends RecursiveAction {
+
+        private final double[] xs;
+
+        private final double[] ys;
+
+        private final int[] offsets;
+
+        private final int from;
+
+        private final int to;
+
+        private final int[] work;
+
+        private final int[] sizes;
+
+        private final int threshold;
+
+        Groups(double[] xs, double[] ys, int[] offsets, int from, int to, int[] work, int[] sizes, int threshold) {
+            this.xs = xs;
+            this.ys = ys;
+            this.offsets = offsets;
+            this.from = from;
+            this.to = to;
+            this.work = work;
+            this.sizes = sizes;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1 && offsets[to] - offsets[from] > threshold) {
+                int middle = split();
+                invokeAll(new Groups(xs, ys, offsets, from, middle, work, sizes, threshold),
+                        new Groups(xs, ys, offsets, middle, to, work, sizes, threshold));
+                return;
+            }
+            HullScratch scratch = SCRATCH.get();
+            for (int g = from; g < to; g++) {
+                int start = offsets[g];
+                int end = offsets[g + 1];
+                for (int i = start; i < end; i++) {
+                    work[i] = i;
+                }
+                sizes[g] = GrahamScanEngine.scan(xs, ys, work, start, end, scratch.aux((end - start) / 2 + 1), null);
+            }
+        }
+
+        /**
+         * Find the group where about half the range's points come before it.
+         */
+        private int split() {
+            int half = (offsets[from] + offsets[to]) >>> 1;
+            int middle = Arrays.binarySearch(offsets, from + 1, to, half);
+            if (middle < 0) {
+                middle = -middle - 1;
+            }
+            return Math.max(from + 1, Math.min(to - 1, middle));
+        }
+    }
+}
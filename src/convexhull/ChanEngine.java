@@ -0,0 +1,185 @@
+package convexhull;
+
+import java.util.Arrays;
+
+/**
+ * ChanEngine.java
+ * <p/>
+ * Chan's output sensitive algorithm, O(n log h). Guesses a hull size m, splits the points into groups of m, finds each group's hull
+ * with Graham's Scan and then gift wraps around the mini hulls, finding the tangent to each mini hull by binary search. If the wrap
+ * takes more than m steps the guess is squared and the process starts over. The hull starts at the lowest point. A listener only
+ * hears the steps of the round that closes the hull: each round's steps are held back in a HullTrace, and those of a round that
+ * gives up are dropped, so that an animation never draws edges that are later thrown away.
+ */
+public class ChanEngine extends HullEngine {
+
+    /**
+     * Mini hulls with at most this many vertices are searched linearly.
+     */
+    private static final int LINEAR_TANGENT_THRESHOLD = 4;
+
+    @Override
+    public int[] computeHull(double[] xs, double[] ys, int n, HullListener listener) {
+        checkPoints(xs, ys, n);
+        if (n == 0) {
+            return new int[0];
+        }
+        int start = Geometry.lowest(xs, ys, n);
+        int[] points = new int[n];
+        for (int t = 1; ; t++) {
+            int m = t >= 5 ? n : (int) Math.min(n, 1L << (1 << t));
+            int groups = (n + m - 1) / m;
+            int[] hullSizes = new int[groups];
+            for (int i = 0; i < n; i++) {
+                points[i] = i;
+            }
+            for (int g = 0; g < groups; g++) {
+                hullSizes[g] = GrahamScanEngine.scan(xs, ys, points, g * m, Math.min(n, (g + 1) * m), null);
+            }
+            // At most m steps, each with a candidate per group and an edge.
+            HullTrace round = listener == null ? null : new HullTrace((int) Math.min(Integer.MAX_VALUE, (long) m * (groups + 1)));
+            HullStats.PhaseEvent began = HullStats.startPhase();
+            int[] hull = wrap(xs, ys, points, m, hullSizes, start, round);
+            HullStats.endPhase(HullStats.Phase.WRAP, began, n);
+            if (hull != null) {
+                if (round != null) {
+                    round.replay(0, round.end(), listener);
+                }
+                return hull;
+            }
+        }
+    }
+
+    /**
+     * Gift wrap around the mini hulls, giving up after m vertices.
+     *
+     * @param points    the point indices, with each group's hull at the start of its range.
+     * @param m         the group size.
+     * @param hullSizes the number of vertices in each mini hull.
+     * @param start     the lowest point.
+     * @param listener  the listener to report the round's steps to, or null.
+     * @return the hull, or null if it has more than m vertices.
+     */
+    private int[] wrap(double[] xs, double[] ys, int[] points, int m, int[] hullSizes, int start, HullListener listener) {
+        int[] hull = new int[m];
+        int current = start;
+        for (int size = 0; size < m; ) {
+            hull[size++] = current;
+            double cx = xs[current];
+            double cy = ys[current];
+            int next = -1;
+            for (int g = 0; g < hullSizes.length; g++) {
+                int candidate = tangent(xs, ys, points, g * m, hullSizes[g], cx, cy);
+                if (candidate < 0) {
+                    continue;
+                }
+                if (listener != null) {
+                    listener.candidate(current, candidate);
+                }
+                if (next < 0) {
+                    next = candidate;
+                    continue;
+                }
+                int turn = Geometry.orientation(cx, cy, xs[next], ys[next], xs[candidate], ys[candidate]);
+                if (turn < 0 || (turn == 0 && Geometry.distanceSquared(cx, cy, xs[candidate], ys[candidate])
+                        > Geometry.distanceSquared(cx, cy, xs[next], ys[next]))) {
+                    next = candidate;
+                }
+            }
+            if (next < 0) {
+                return Arrays.copyOf(hull, size);
+            }
+            if (listener != null) {
+                listener.edgeAdded(current, next);
+            }
+            if (xs[next] == xs[start] && ys[next] == ys[start]) {
+                return Arrays.copyOf(hull, size);
+            }
+            current = next;
+        }
+        return null;
+    }
+
+    /**
+     * Find the vertex of a mini hull that every other vertex lies to the left of, as seen from (px, py), taking the farthest one
+     * when several are collinear. The point must not be strictly inside the mini hull.
+     *
+     * @param points the point indices.
+     * @param from   the position of the mini hull's first vertex.
+     * @param h      the number of vertices in the mini hull.
+     * @return the index of the tangent point, or -1 if every vertex coincides with (px, py).
+     */
+    static int tangent(double[] xs, double[] ys, int[] points, int from, int h, double px, double py) {
+        if (h <= LINEAR_TANGENT_THRESHOLD) {
+            return linearTangent(xs, ys, points, from, h, px, py);
+        }
+        // The hull turns counter-clockwise as seen from the point on the edges where ccw() holds; the tangent is where a clockwise
+        // run ends. Which run a vertex is in is told apart by comparing it with the first vertex.
+        boolean first = ccw(xs, ys, points, from, h, 0, px, py);
+        int q;
+        if (first && !ccw(xs, ys, points, from, h, h - 1, px, py)) {
+            q = 0;
+        } else {
+            int lo = 1;
+            int hi = h - 1;
+            int v0 = points[from];
+            while (lo < hi) {
+                int c = (lo + hi) >>> 1;
+                boolean turn = ccw(xs, ys, points, from, h, c, px, py);
+                int vc = points[from + c];
+                int side = Geometry.orientation(px, py, xs[v0], ys[v0], xs[vc], ys[vc]);
+                if (first) {
+                    if (!turn || side > 0) {
+                        lo = c + 1;
+                    } else {
+                        hi = c;
+                    }
+                } else {
+                    if (turn || side >= 0) {
+                        hi = c;
+                    } else {
+                        lo = c + 1;
+                    }
+                }
+            }
+            q = lo;
+        }
+        // Collinear points can fool the search; check the answer and fall back to a linear search.
+        if (ccw(xs, ys, points, from, h, q, px, py) && !ccw(xs, ys, points, from, h, q == 0 ? h - 1 : q - 1, px, py)) {
+            return points[from + q];
+        }
+        return linearTangent(xs, ys, points, from, h, px, py);
+    }
+
+    /**
+     * Whether the edge from the i-th vertex of a mini hull to the next one turns counter-clockwise as seen from (px, py).
+     */
+    private static boolean ccw(double[] xs, double[] ys, int[] points, int from, int h, int i, double px, double py) {
+        int a = points[from + i];
+        int b = points[from + (i + 1 == h ? 0 : i + 1)];
+        return Geometry.orientation(px, py, xs[a], ys[a], xs[b], ys[b]) > 0;
+    }
+
+    /**
+     * Find the tangent point by looking at every vertex of the mini hull.
+     */
+    private static int linearTangent(double[] xs, double[] ys, int[] points, int from, int h, double px, double py) {
+        int best = -1;
+        for (int k = from; k < from + h; k++) {
+            int i = points[k];
+            if (xs[i] == px && ys[i] == py) {
+                continue;
+            }
+            if (best < 0) {
+                best = i;
+                continue;
+            }
+            int turn = Geometry.orientation(px, py, xs[best], ys[best], xs[i], ys[i]);
+            if (turn < 0 || (turn == 0 && Geometry.distanceSquared(px, py, xs[i], ys[i])
+                    > Geometry.distanceSquared(px, py, xs[best], ys[best]))) {
+                best = i;
+            }
+        }
+        return best;
+    }
+}
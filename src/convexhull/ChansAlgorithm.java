@@ -0,0 +1,72 @@
+package convexhull;
+
+import java.awt.*;
+
+/**
+ * ChansAlgorithm.java
+ * <p/>
+ * Animates Chan's Algorithm. The hull is computed by a ChanEngine; as the trace plays, this class shows the tangent to each
+ * mini hull that the engine considers at every step of the wrap, and adds every edge.
+ */
+public class ChansAlgorithm extends Algorithm {
+
+    /**
+     * The engine computing the hull.
+     */
+    private HullEngine engine = new ChanEngine();
+
+    /**
+     * The tangent being considered, or null if there is none.
+     */
+    private Edge candidate;
+
+    public ChansAlgorithm() {
+    }
+
+    /**
+     * Show a red line to the tangent point being looked at.
+     */
+    @Override
+    public void candidate(int from, int to) {
+        candidate = new Edge(graph.vertices.elementAt(from), graph.vertices.elementAt(to));
+    }
+
+    /**
+     * Add the edge to the graph.
+     */
+    @Override
+    public void edgeAdded(int from, int to) {
+        graph.addEdgeNoShow(new Edge(graph.vertices.elementAt(from), graph.vertices.elementAt(to)));
+        candidate = null;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        candidate = null;
+    }
+
+    @Override
+    protected void drawOverlay() {
+        if (candidate != null) {
+            pane.setPenColor(Color.RED);
+            graph.drawOverlayLine(candidate.getFirst(), candidate.getSecond());
+        }
+    }
+
+    /**
+     * Run the algorithm. Label all the vertices, set the pen radius for drawing lines and let the engine wrap around the mini
+     * hulls, recording each tangent and edge, and play the recording back.
+     */
+    @Override
+    public void runAlgorithm() {
+        pause();
+        graph.label();
+        pane.setPenRadius(.005);
+        PointSet points = graph.toPointSet();
+        // Only the last round is reported: at most m steps with a candidate per group of m points and an edge, so 3n in all.
+        HullTrace trace = new HullTrace((int) Math.max(1, Math.min(HullTrace.DEFAULT_CAPACITY, 3L * points.size())));
+        int[] hull = engine.computeHull(points, trace);
+        play(trace, hull);
+    }
+}
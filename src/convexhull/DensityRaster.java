@@ -0,0 +1,153 @@
+package convexhull;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * DensityRaster.java
+ * <p/>
+ * Draws a large point set as a density image, for when there are too many points to draw one at a time. The points are binned
+ * into a count per window pixel on a fork/join pool, each task counting its share of the points into its own array and the
+ * arrays being added up as the tasks join. The counts are then shaded on a log scale, from light gray for a single point to
+ * black for the densest pixel, and written straight into an image's pixel array, with no shapes drawn at all.
+ */
+public class DensityRaster {
+
+    /**
+     * Tasks never count fewer points than this.
+     */
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 1 << 16;
+
+    /**
+     * The gray level of a pixel holding one point; the densest pixel is black.
+     */
+    private static final int LIGHTEST = 200;
+
+    private static final int BACKGROUND = 0xFFFFFF;
+
+    private final ForkJoinPool pool;
+
+    private final int sequentialThreshold;
+
+    /**
+     * Constructor using the common pool.
+     */
+    public DensityRaster() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param pool                the pool to run tasks in.
+     * @param sequentialThreshold tasks with fewer points than this are not split further.
+     */
+    public DensityRaster(ForkJoinPool pool, int sequentialThreshold) {
+        if (sequentialThreshold < 1) {
+            throw new IllegalArgumentException("Illegal threshold: " + sequentialThreshold);
+        }
+        this.pool = pool;
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    /**
+     * Draw the density of some points, replacing every pixel of the image.
+     *
+     * @param xs     the graph x coordinates.
+     * @param ys     the graph y coordinates.
+     * @param n      the number of points.
+     * @param view   the viewport to draw through; points outside it are skipped.
+     * @param pixels the image's RGB pixels, row by row.
+     * @param width  the width of the image.
+     * @param height the height of the image.
+     */
+    public void render(double[] xs, double[] ys, int n, Viewport view, int[] pixels, int width, int height) {
+        if (pixels.length < width * height) {
+            throw new IllegalArgumentException("Pixel array holds fewer than " + width + " x " + height + " pixels");
+        }
+        int chunk = Math.max(sequentialThreshold, n / pool.getParallelism() + 1);
+        Bins all;
+        synchronized (view) {
+            all = new Bins(xs, ys, 0, n, chunk, view.getLeft(), view.getTop(), view.getScale(), width, height);
+        }
+        int[] counts = n > chunk ? pool.invoke(all) : all.compute();
+        int max = 0;
+        for (int i = 0; i < counts.length; i++) {
+            max = Math.max(max, counts[i]);
+        }
+        double range = Math.log(Math.max(max, 2));
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                pixels[i] = BACKGROUND;
+            } else {
+                int level = (int) (LIGHTEST * (1 - Math.log(counts[i]) / range));
+                pixels[i] = level * 0x010101;
+            }
+        }
+    }
+
+    /**
+     * Counts the points in a range that fall in each pixel, splitting the range in half while it is larger than a chunk.
+     */
+    private static class Bins extends RecursiveTask<int[]> {
+
+        private final double[] xs;
+
+        private final double[] ys;
+
+        private final int from;
+
+        private final int to;
+
+        private final int chunk;
+
+        private final double left;
+
+        private final double top;
+
+        private final double scale;
+
+        private final int width;
+
+        private final int height;
+
+        Bins(double[] xs, double[] ys, int from, int to, int chunk, double left, double top, double scale, int width,
+             int height) {
+            this.xs = xs;
+            this.ys = ys;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+            this.left = left;
+            this.top = top;
+            this.scale = scale;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= chunk) {
+                int[] counts = new int[width * height];
+                for (int i = from; i < to; i++) {
+                    double sx = (xs[i] - left) * scale;
+                    double sy = (ys[i] - top) * scale;
+                    // Negative coordinates must not truncate towards the first row or column.
+                    if (sx >= 0 && sx < width && sy >= 0 && sy < height) {
+                        counts[(int) sy * width + (int) sx]++;
+                    }
+                }
+                return counts;
+            }
+            int middle = (from + to) >>> 1;
+            Bins right = new Bins(xs, ys, middle, to, chunk, left, top, scale, width, height);
+            right.fork();
+            int[] counts = new Bins(xs, ys, from, middle, chunk, left, top, scale, width, height).compute();
+            int[] other = right.join();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other[i];
+            }
+            return counts;
+        }
+    }
+}
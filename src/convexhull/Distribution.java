@@ -0,0 +1,128 @@
+package convexhull;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Distribution.java
+ * <p/>
+ * Ways of scattering random points for benchmarks. Every distribution fits in the square from -1 to 1, apart from the tails of
+ * the Gaussian ones. Points are written straight into coordinate arrays; Generator fills large arrays in parallel from a seed.
+ */
+public enum Distribution {
+
+    /**
+     * Uniform in a square. The hull has O(log n) vertices.
+     */
+    UNIFORM_SQUARE {
+        @Override
+        void place(RandomGenerator rand, double[] xs, double[] ys, int i) {
+            xs[i] = 2 * rand.nextDouble() - 1;
+            ys[i] = 2 * rand.nextDouble() - 1;
+        }
+    },
+
+    /**
+     * Uniform in a disk. The hull has O(n^1/3) vertices.
+     */
+    UNIFORM_DISK {
+        @Override
+        void place(RandomGenerator rand, double[] xs, double[] ys, int i) {
+            double r = Math.sqrt(rand.nextDouble());
+            double angle = 2 * Math.PI * rand.nextDouble();
+            xs[i] = r * Math.cos(angle);
+            ys[i] = r * Math.sin(angle);
+        }
+    },
+
+    /**
+     * Normally distributed around the origin. The hull has O(sqrt(log n)) vertices.
+     */
+    GAUSSIAN {
+        @Override
+        void place(RandomGenerator rand, double[] xs, double[] ys, int i) {
+            xs[i] = rand.nextGaussian() / 3;
+            ys[i] = rand.nextGaussian() / 3;
+        }
+    },
+
+    /**
+     * On a circle, so every point is a hull vertex. The worst case for Jarvis's March.
+     */
+    CIRCLE {
+        @Override
+        void place(RandomGenerator rand, double[] xs, double[] ys, int i) {
+            double angle = 2 * Math.PI * rand.nextDouble();
+            xs[i] = Math.cos(angle);
+            ys[i] = Math.sin(angle);
+        }
+    },
+
+    /**
+     * Normally distributed around a few fixed centers, like real data that clumps. The hull has few vertices, all from the outer
+     * clusters.
+     */
+    CLUSTERED {
+        @Override
+        void place(RandomGenerator rand, double[] xs, double[] ys, int i) {
+            int cluster = rand.nextInt(CLUSTERS);
+            xs[i] = CENTERS[2 * cluster] + rand.nextGaussian() * CLUSTER_SPREAD;
+            ys[i] = CENTERS[2 * cluster + 1] + rand.nextGaussian() * CLUSTER_SPREAD;
+        }
+    };
+
+    private static final int CLUSTERS = 16;
+
+    private static final double CLUSTER_SPREAD = 0.04;
+
+    /**
+     * The cluster centers, the same on every run so inputs can be reproduced from a seed.
+     */
+    private static final double[] CENTERS = new double[2 * CLUSTERS];
+
+    static {
+        SplittableRandom rand = new SplittableRandom(445);
+        for (int k = 0; k < CENTERS.length; k++) {
+            CENTERS[k] = rand.nextDouble(-0.8, 0.8);
+        }
+    }
+
+    /**
+     * Pick the coordinates of one point.
+     *
+     * @param rand the random number generator.
+     * @param xs   the x coordinates.
+     * @param ys   the y coordinates.
+     * @param i    the point to place.
+     */
+    abstract void place(RandomGenerator rand, double[] xs, double[] ys, int i);
+
+    /**
+     * Generate points from this distribution on the calling thread.
+     *
+     * @param n    the number of points.
+     * @param rand the random number generator.
+     * @return the points.
+     */
+    public PointSet generate(int n, RandomGenerator rand) {
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            place(rand, xs, ys, i);
+        }
+        return new PointSet(xs, ys);
+    }
+
+    /**
+     * Generate points from this distribution in parallel. The same seed always gives the same points, however many threads there
+     * are.
+     *
+     * @param n    the number of points.
+     * @param seed the seed.
+     * @return the points.
+     * @see Generator#generate(Distribution, double[], double[], int, long)
+     */
+    public PointSet generate(int n, long seed) {
+        return Generator.generate(this, n, seed);
+    }
+}
@@ -0,0 +1,150 @@
+package convexhull;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * DivideAndConquerEngine.java
+ * <p/>
+ * Divide and conquer on a fork/join pool. The points are sorted by x and then y and cut into slices of about one per thread, the
+ * hull of each slice is built with the monotone chain, and neighboring hulls are joined along their tangents with
+ * HullMerge, which takes time linear in the hull sizes. Slices are never cut between copies of the same point, so every slice
+ * lies strictly after the one before it. The hull starts at the point with the smallest x (and then y) coordinate.
+ */
+public class DivideAndConquerEngine extends HullEngine {
+
+    /**
+     * Slices are never smaller than this.
+     */
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 1 << 13;
+
+    private final ForkJoinPool pool;
+
+    private final int sequentialThreshold;
+
+    /**
+     * Constructor using the common pool.
+     */
+    public DivideAndConquerEngine() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param pool                the pool to run tasks in.
+     * @param sequentialThreshold slices smaller than this are not split further.
+     */
+    public DivideAndConquerEngine(ForkJoinPool pool, int sequentialThreshold) {
+        if (sequentialThreshold < 1) {
+            throw new IllegalArgumentException("Illegal threshold: " + sequentialThreshold);
+        }
+        this.pool = pool;
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    /**
+     * Compute the hull. With a listener the whole computation runs on the calling thread, so that the listener is only ever called
+     * from one thread. It is told of the steps building each slice's hull, and then of the edges of the final hull.
+     */
+    @Override
+    public int[] computeHull(double[] xs, double[] ys, int n, HullListener listener) {
+        checkPoints(xs, ys, n);
+        HullStats.PhaseEvent start = HullStats.startPhase();
+        int[] order = LexicographicSort.sort(xs, ys, n);
+        HullStats.endPhase(HullStats.Phase.SORT, start, n);
+        int slice = Math.max(sequentialThreshold, n / pool.getParallelism() + 1);
+        Slices all = new Slices(xs, ys, order, 0, n, slice, listener);
+        int[] hull = listener == null && n > slice ? pool.invoke(all) : all.compute();
+        if (listener != null) {
+            for (int i = 0; i < hull.length; i++) {
+                listener.edgeAdded(hull[i], hull[(i + 1) % hull.length]);
+            }
+        }
+        return hull;
+    }
+
+    /**
+     * Computes the hull of a range of sorted points, splitting it in half while it is larger than a slice.
+     */
+    private static class Slices extends RecursiveTask<int[]> {
+
+        private final double[] xs;
+
+        private final double[] ys;
+
+        private final int[] order;
+
+        private final int from;
+
+        private final int to;
+
+        private final int slice;
+
+        private final HullListener listener;
+
+        Slices(double[] xs, double[] ys, int[] order, int from, int to, int slice, HullListener listener) {
+            this.xs = xs;
+            this.ys = ys;
+            this.order = order;
+            this.from = from;
+            this.to = to;
+            this.slice = slice;
+            this.listener = listener;
+        }
+
+        @Override
+        protected int[] compute() {
+            int middle = to - from > slice ? split() : -1;
+            if (middle < 0) {
+                HullStats.PhaseEvent start = HullStats.startPhase();
+                int[] hull = new int[2 * (to - from) + 1];
+                int size = MonotoneChainEngine.chain(xs, ys, order, from, to, hull, listener);
+                HullStats.endPhase(HullStats.Phase.SCAN, start, to - from);
+                return Arrays.copyOf(hull, size);
+            }
+            Slices left = new Slices(xs, ys, order, from, middle, slice, listener);
+            Slices right = new Slices(xs, ys, order, middle, to, slice, listener);
+            int[] leftHull;
+            int[] rightHull;
+            if (listener == null) {
+                right.fork();
+                leftHull = left.compute();
+                rightHull = right.join();
+            } else {
+                leftHull = left.compute();
+                rightHull = right.compute();
+            }
+            HullStats.PhaseEvent start = HullStats.startPhase();
+            int[] hull = HullMerge.merge(xs, ys, leftHull, rightHull);
+            HullStats.endPhase(HullStats.Phase.MERGE, start, leftHull.length + rightHull.length);
+            return hull;
+        }
+
+        /**
+         * Find a position near the middle of the range that does not separate copies of the same point.
+         *
+         * @return the position, or -1 if every point in the range is the same.
+         */
+        private int split() {
+            int middle = (from + to) >>> 1;
+            int after = middle;
+            while (after < to && same(after - 1, after)) {
+                after++;
+            }
+            if (after < to) {
+                return after;
+            }
+            int before = middle;
+            while (before > from && same(before - 1, before)) {
+                before--;
+            }
+            return before > from ? before : -1;
+        }
+
+        private boolean same(int a, int b) {
+            return xs[order[a]] == xs[order[b]] && ys[order[a]] == ys[order[b]];
+        }
+    }
+}
@@ -9,6 +9,13 @@ package convexhull;
  * A class to handle drawing.  Double buffered to reduce flicker.
  * Allows saving the displayed graphic as an image.
  *
+ * For animation there is also a background layer, a saved copy of the
+ * parts of the picture that stay put.  Lines drawn on the overlay are
+ * erased by copying back just the region they covered from the
+ * background, and only the regions that changed are copied to the
+ * screen, so a frame costs time in proportion to what changed.
+ * The shapes drawn are reused rather than allocated for every call.
+ *
  * Original Authors: Copyright © 2007, Robert Sedgewick and Kevin Wayne.
  * Edited by Chet Mancini
  * Originally retrieved from:
@@ -29,6 +36,7 @@ import java.awt.geom.Arc2D;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.Line2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.awt.image.DirectColorModel;
 import java.awt.image.WritableRaster;
 import java.io.File;
@@ -88,6 +96,36 @@ public class Draw implements ActionListener {
      */
     private final Graphics2D offscreen, onscreen;    // the frame for drawing to the screen
 
+    /**
+     * The background layer: what the offscreen image holds without the overlay.
+     */
+    private final BufferedImage backgroundImage;
+
+    private final Graphics2D background;
+
+    /**
+     * The region of the offscreen image covered by the overlay.
+     */
+    private final Rectangle overlayDirty = new Rectangle(0, 0, -1, -1);
+
+    /**
+     * The region of the offscreen image changed since it was last shown.
+     */
+    private final Rectangle screenDirty = new Rectangle(0, 0, -1, -1);
+
+    private final Rectangle bounds = new Rectangle();
+
+    /**
+     * Shapes reused for every line, point and arc.
+     */
+    private final Line2D.Double lineShape = new Line2D.Double();
+
+    private final Ellipse2D.Double pointShape = new Ellipse2D.Double();
+
+    private final Arc2D.Double arcShape = new Arc2D.Double();
+
+    private BasicStroke stroke;
+
     /**
      * The frame for drawing on screen.
      */
@@ -116,8 +154,10 @@ public class Draw implements ActionListener {
         }
         offscreenImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
         onscreenImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        backgroundImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
         offscreen = offscreenImage.createGraphics();
         onscreen = onscreenImage.createGraphics();
+        background = backgroundImage.createGraphics();
         offscreen.setColor(DEFAULT_CLEAR_COLOR);
         offscreen.fillRect(0, 0, width, height);
         setPenColor(DEFAULT_PEN_COLOR);
@@ -127,6 +167,7 @@ public class Draw implements ActionListener {
         RenderingHints hints = new RenderingHints(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         hints.put(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
         offscreen.addRenderingHints(hints);
+        background.addRenderingHints(hints);
         // the drawing panel
         ImageIcon icon = new ImageIcon(onscreenImage);
         draw = new JLabel(icon);
@@ -232,8 +273,11 @@ public class Draw implements ActionListener {
     public void setPenRadius(double r) {
         penRadius = r * DEFAULT_SIZE;
         // BasicStroke stroke = new BasicStroke((float) penRadius, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
-        BasicStroke stroke = new BasicStroke((float) penRadius);
+        if (stroke == null || stroke.getLineWidth() != (float) penRadius) {
+            stroke = new BasicStroke((float) penRadius);
+        }
         offscreen.setStroke(stroke);
+        background.setStroke(stroke);
     }
 
     /**
@@ -244,6 +288,7 @@ public class Draw implements ActionListener {
     public void setPenColor(Color color) {
         penColor = color;
         offscreen.setColor(penColor);
+        background.setColor(penColor);
     }
 
     /**
@@ -265,7 +310,8 @@ public class Draw implements ActionListener {
      */
     public void line(double x0, double y0, double x1, double y1) {
         defer = false;
-        offscreen.draw(new Line2D.Double(x0, y0, x1, y1));
+        lineShape.setLine(x0, y0, x1, y1);
+        offscreen.draw(lineShape);
         show();
     }
 
@@ -279,7 +325,8 @@ public class Draw implements ActionListener {
      */
     public void lineNoShow(double x0, double y0, double x1, double y1) {
         defer = true;
-        offscreen.draw(new Line2D.Double(x0, y0, x1, y1));
+        lineShape.setLine(x0, y0, x1, y1);
+        offscreen.draw(lineShape);
     }
 
     /**
@@ -304,7 +351,8 @@ public class Draw implements ActionListener {
         if (r <= 1) {
             pixel(x, y);
         } else {
-            offscreen.fill(new Ellipse2D.Double(x - r / 2, y - r / 2, r, r));
+            pointShape.setFrame(x - r / 2, y - r / 2, r, r);
+            offscreen.fill(pointShape);
         }
         show();
     }
@@ -322,7 +370,8 @@ public class Draw implements ActionListener {
         if (r <= 1) {
             pixel(x, y);
         } else {
-            offscreen.fill(new Ellipse2D.Double(x - r / 2, y - r / 2, r, r));
+            pointShape.setFrame(x - r / 2, y - r / 2, r, r);
+            offscreen.fill(pointShape);
         }
         show();
         text(x + 12, y + 12, name);
@@ -341,7 +390,8 @@ public class Draw implements ActionListener {
         if (r <= 1) {
             pixel(x, y);
         } else {
-            offscreen.fill(new Ellipse2D.Double(x - r / 2, y - r / 2, r, r));
+            pointShape.setFrame(x - r / 2, y - r / 2, r, r);
+            offscreen.fill(pointShape);
         }
         text(x + 12, y + 12, name);
     }
@@ -365,7 +415,8 @@ public class Draw implements ActionListener {
         if (ws <= 1 && hs <= 1) {
             pixel(x, y);
         } else {
-            offscreen.draw(new Arc2D.Double(x - ws / 2, y - hs / 2, ws, hs, angle1, angle2 - angle1, Arc2D.OPEN));
+            arcShape.setArc(x - ws / 2, y - hs / 2, ws, hs, angle1, angle2 - angle1, Arc2D.OPEN);
+            offscreen.draw(arcShape);
         }
         show();
     }
@@ -389,10 +440,122 @@ public class Draw implements ActionListener {
         if (ws <= 1 && hs <= 1) {
             pixel(x, y);
         } else {
-            offscreen.draw(new Arc2D.Double(x - ws / 2, y - hs / 2, ws, hs, angle1, angle2 - angle1, Arc2D.OPEN));
+            arcShape.setArc(x - ws / 2, y - hs / 2, ws, hs, angle1, angle2 - angle1, Arc2D.OPEN);
+            offscreen.draw(arcShape);
         }
     }
 
+    /**
+     * Get the offscreen image's pixels, row by row as RGB values, for drawing into directly. Changes show with the next show.
+     *
+     * @return the pixel array backing the offscreen image.
+     */
+    public int[] getPixels() {
+        return ((DataBufferInt) offscreenImage.getRaster().getDataBuffer()).getData();
+    }
+
+    /**
+     * Save the offscreen image as the background layer, with nothing on the overlay.
+     */
+    public void saveBackground() {
+        background.drawImage(offscreenImage, 0, 0, null);
+        overlayDirty.setBounds(0, 0, -1, -1);
+        screenDirty.setBounds(0, 0, width, height);
+    }
+
+    /**
+     * draw a line from (x0, y0) to (x1, y1) on the background layer as well as the offscreen image, but don't show it.
+     *
+     * @param x0 first x
+     * @param y0 first y
+     * @param x1 second x
+     * @param y1 second y
+     */
+    public void lineBackground(double x0, double y0, double x1, double y1) {
+        lineShape.setLine(x0, y0, x1, y1);
+        background.draw(lineShape);
+        offscreen.draw(lineShape);
+        screenDirty.add(bounds(x0, y0, x1, y1));
+    }
+
+    /**
+     * draw arc of radius r, centered on (x, y), from angle1 to angle2 (in degrees) on the background layer as well as the
+     * offscreen image, but don't show it
+     *
+     * @param x      the x coordinate
+     * @param y      the y coordinate
+     * @param r      the radius
+     * @param angle1 the first angle
+     * @param angle2 the second angle.
+     */
+    public void arcBackground(double x, double y, double r, double angle1, double angle2) {
+        while (angle2 < angle1) {
+            angle2 += 360;
+        }
+        arcShape.setArc(x - r, y - r, 2 * r, 2 * r, angle1, angle2 - angle1, Arc2D.OPEN);
+        background.draw(arcShape);
+        offscreen.draw(arcShape);
+        screenDirty.add(bounds(x - r, y - r, x + r, y + r));
+    }
+
+    /**
+     * draw a line from (x0, y0) to (x1, y1) on the overlay, to be erased by the next clearOverlay, but don't show it.
+     *
+     * @param x0 first x
+     * @param y0 first y
+     * @param x1 second x
+     * @param y1 second y
+     */
+    public void lineOverlay(double x0, double y0, double x1, double y1) {
+        lineShape.setLine(x0, y0, x1, y1);
+        offscreen.draw(lineShape);
+        overlayDirty.add(bounds(x0, y0, x1, y1));
+    }
+
+    /**
+     * Erase the overlay by copying back the region it covered from the background layer, but don't show it.
+     */
+    public void clearOverlay() {
+        if (overlayDirty.isEmpty()) {
+            return;
+        }
+        int x0 = overlayDirty.x;
+        int y0 = overlayDirty.y;
+        int x1 = x0 + overlayDirty.width;
+        int y1 = y0 + overlayDirty.height;
+        offscreen.drawImage(backgroundImage, x0, y0, x1, y1, x0, y0, x1, y1, null);
+        screenDirty.add(overlayDirty);
+        overlayDirty.setBounds(0, 0, -1, -1);
+    }
+
+    /**
+     * Show the regions of the offscreen image that have changed since they were last shown, including the overlay.
+     */
+    public void showChanges() {
+        screenDirty.add(overlayDirty);
+        int x0 = Math.max(0, screenDirty.x);
+        int y0 = Math.max(0, screenDirty.y);
+        int x1 = Math.min(width, screenDirty.x + screenDirty.width);
+        int y1 = Math.min(height, screenDirty.y + screenDirty.height);
+        if (!screenDirty.isEmpty() && x0 < x1 && y0 < y1) {
+            onscreen.drawImage(offscreenImage, x0, y0, x1, y1, x0, y0, x1, y1, null);
+            draw.repaint(x0, y0, x1 - x0, y1 - y0);
+        }
+        screenDirty.setBounds(0, 0, -1, -1);
+    }
+
+    /**
+     * Get the pixels a stroke from (x0, y0) to (x1, y1) may touch with the current pen, allowing for antialiasing.
+     */
+    private Rectangle bounds(double x0, double y0, double x1, double y1) {
+        double margin = penRadius / 2 + 2;
+        int left = (int) Math.floor(Math.min(x0, x1) - margin);
+        int top = (int) Math.floor(Math.min(y0, y1) - margin);
+        bounds.setBounds(left, top, (int) Math.ceil(Math.max(x0, x1) + margin) - left,
+                (int) Math.ceil(Math.max(y0, y1) + margin) - top);
+        return bounds;
+    }
+
     /**
      * write the given text string in the current font, center on (x, y)
      *
@@ -0,0 +1,372 @@
+package convexhull;
+
+/**
+ * DynamicHull.java
+ * <p/>
+ * A convex hull that points can be both added to and removed from, after Overmars and van Leeuwen. The points are the leaves of
+ * a balanced binary tree in order of x and then y, and each internal node stores the bridges, the upper and lower hull edges
+ * joining the hulls of its two children. A node's hull is then implicit: its left child's hull up to the bridge, followed by
+ * its right child's hull from the bridge on. A bridge is found by descending both children's implicit hulls, so an update
+ * recomputes the O(log n) bridges on one path in O(log^3 n) time.
+ * <p/>
+ * The hull is enumerated by following the bridges down from the root. Every node visited leads to a hull vertex, so this takes
+ * O(h log(n/h)) time; the result is cached until the next update, after which reading the hull is O(h). Points are distinct:
+ * adding a point that is already present, or removing one that is not, does nothing. Not synchronized.
+ */
+public class DynamicHull {
+
+    private static final int UPPER = 0;
+
+    private static final int LOWER = 1;
+
+    /**
+     * A point (a leaf) or the union of two subtrees (an internal node).
+     */
+    private static class Node {
+
+        final double x;
+
+        final double y;
+
+        Node left;
+
+        Node right;
+
+        int height;
+
+        /**
+         * The largest point in this subtree.
+         */
+        Node max;
+
+        Node upperLeft;
+
+        Node upperRight;
+
+        Node lowerLeft;
+
+        Node lowerRight;
+
+        /**
+         * Leaf constructor
+         */
+        Node(double x, double y) {
+            this.x = x;
+            this.y = y;
+            this.max = this;
+        }
+
+        /**
+         * Internal node constructor
+         */
+        Node(Node left, Node right) {
+            this.x = 0;
+            this.y = 0;
+            this.left = left;
+            this.right = right;
+        }
+
+        boolean isLeaf() {
+            return left == null;
+        }
+    }
+
+    private Node root;
+
+    private int count;
+
+    /**
+     * The hull in counter-clockwise order, or null if it has changed since it was last enumerated.
+     */
+    private PointSet hull;
+
+    /**
+     * Add a point.
+     *
+     * @param x the x coordinate.
+     * @param y the y coordinate.
+     * @return true if the point was added, false if it was already present.
+     */
+    public boolean insert(double x, double y) {
+        // Adding zero turns -0.0 into 0.0, so that the two compare equal.
+        x += 0.0;
+        y += 0.0;
+        if (contains(x, y)) {
+            return false;
+        }
+        Node leaf = new Node(x, y);
+        root = root == null ? leaf : insert(root, leaf);
+        count++;
+        hull = null;
+        return true;
+    }
+
+    /**
+     * Remove a point.
+     *
+     * @param x the x coordinate.
+     * @param y the y coordinate.
+     * @return true if the point was removed, false if it was not present.
+     */
+    public boolean delete(double x, double y) {
+        x += 0.0;
+        y += 0.0;
+        if (!contains(x, y)) {
+            return false;
+        }
+        root = delete(root, x, y);
+        count--;
+        hull = null;
+        return true;
+    }
+
+    /**
+     * Whether a point is present.
+     */
+    public boolean contains(double x, double y) {
+        x += 0.0;
+        y += 0.0;
+        Node node = root;
+        while (node != null && !node.isLeaf()) {
+            node = compare(x, y, node.left.max) <= 0 ? node.left : node.right;
+        }
+        return node != null && node.x == x && node.y == y;
+    }
+
+    /**
+     * Get the number of points present.
+     */
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Get the hull vertices in counter-clockwise order, starting with the lowest of the leftmost points. Collinear points on hull
+     * edges are not included.
+     *
+     * @return a new point set holding the hull.
+     */
+    public PointSet toPointSet() {
+        if (hull == null) {
+            hull = enumerate();
+        }
+        PointSet copy = new PointSet(hull.size());
+        for (int i = 0; i < hull.size(); i++) {
+            copy.add(hull.getX(i), hull.getY(i));
+        }
+        return copy;
+    }
+
+    /**
+     * Walk the bridges down from the root: the lower chain from left to right, then the upper chain back.
+     */
+    private PointSet enumerate() {
+        PointSet lower = new PointSet();
+        PointSet upper = new PointSet();
+        if (root != null) {
+            chain(root, LOWER, null, null, lower);
+            chain(root, UPPER, null, null, upper);
+        }
+        PointSet result = new PointSet(lower.size() + upper.size());
+        for (int i = 0; i < lower.size(); i++) {
+            result.add(lower.getX(i), lower.getY(i));
+        }
+        // The chains share their end points, and a single point is both.
+        for (int i = upper.size() - 2; i > 0; i--) {
+            result.add(upper.getX(i), upper.getY(i));
+        }
+        return result;
+    }
+
+    /**
+     * Append the vertices of a node's upper or lower chain that lie between two points, from left to right.
+     *
+     * @param from the smallest point to include, or null for no bound.
+     * @param to   the largest point to include, or null for no bound.
+     */
+    private static void chain(Node node, int side, Node from, Node to, PointSet out) {
+        if (node.isLeaf()) {
+            if ((from == null || compare(node, from) >= 0) && (to == null || compare(node, to) <= 0)) {
+                out.add(node.x, node.y);
+            }
+            return;
+        }
+        Node a = side == UPPER ? node.upperLeft : node.lowerLeft;
+        Node b = side == UPPER ? node.upperRight : node.lowerRight;
+        if (from == null || compare(from, a) <= 0) {
+            chain(node.left, side, from, to == null || compare(to, a) > 0 ? a : to, out);
+        }
+        if (to == null || compare(to, b) >= 0) {
+            chain(node.right, side, from == null || compare(from, b) < 0 ? b : from, to, out);
+        }
+    }
+
+    /**
+     * Add a point that is not present to a subtree.
+     *
+     * @return the new root of the subtree.
+     */
+    private static Node insert(Node node, Node leaf) {
+        if (node.isLeaf()) {
+            return update(compare(leaf, node) < 0 ? new Node(leaf, node) : new Node(node, leaf));
+        }
+        if (compare(leaf, node.left.max) <= 0) {
+            node.left = insert(node.left, leaf);
+        } else {
+            node.right = insert(node.right, leaf);
+        }
+        return balance(node);
+    }
+
+    /**
+     * Remove a point that is present from a subtree.
+     *
+     * @return the new root of the subtree, or null if it is empty.
+     */
+    private static Node delete(Node node, double x, double y) {
+        if (node.isLeaf()) {
+            return null;
+        }
+        if (compare(x, y, node.left.max) <= 0) {
+            node.left = delete(node.left, x, y);
+            if (node.left == null) {
+                return node.right;
+            }
+        } else {
+            node.right = delete(node.right, x, y);
+            if (node.right == null) {
+                return node.left;
+            }
+        }
+        return balance(node);
+    }
+
+    /**
+     * Restore the AVL balance of a node whose children are balanced, and update every node whose children changed.
+     */
+    private static Node balance(Node node) {
+        int difference = height(node.left) - height(node.right);
+        if (difference > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (difference < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return update(node);
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node top = node.right;
+        node.right = top.left;
+        top.left = update(node);
+        return update(top);
+    }
+
+    private static Node rotateRight(Node node) {
+        Node top = node.left;
+        node.left = top.right;
+        top.right = update(node);
+        return update(top);
+    }
+
+    private static int height(Node node) {
+        return node.height;
+    }
+
+    /**
+     * Recompute a node's height, largest point and bridges from its children.
+     */
+    private static Node update(Node node) {
+        node.height = Math.max(node.left.height, node.right.height) + 1;
+        node.max = node.right.max;
+        Node[] upper = bridge(node, UPPER);
+        node.upperLeft = upper[0];
+        node.upperRight = upper[1];
+        // The lower bridge is the upper bridge of the points turned half way round, which swaps the children.
+        Node[] lower = bridge(node, LOWER);
+        node.lowerRight = lower[0];
+        node.lowerLeft = lower[1];
+        return node;
+    }
+
+    /*
+     * The searches below are written for the upper hull. The lower hull is the upper hull of the points turned half way round,
+     * which reverses their order, so it swaps which child comes first and which bridge end is in it. Turning the points does not
+     * change any cross product, so the orientation tests are the same.
+     */
+
+    private static Node first(Node node, int side) {
+        return side == UPPER ? node.left : node.right;
+    }
+
+    private static Node second(Node node, int side) {
+        return side == UPPER ? node.right : node.left;
+    }
+
+    /**
+     * Get the end of a node's bridge that is in its first child.
+     */
+    private static Node start(Node node, int side) {
+        return side == UPPER ? node.upperLeft : node.lowerRight;
+    }
+
+    /**
+     * Get the end of a node's bridge that is in its second child.
+     */
+    private static Node end(Node node, int side) {
+        return side == UPPER ? node.upperRight : node.lowerLeft;
+    }
+
+    /**
+     * Find the bridge between a node's children: the hull edge with one end in each.
+     *
+     * @return the end in the first child and the end in the second child.
+     */
+    private static Node[] bridge(Node node, int side) {
+        Node right = second(node, side);
+        Node u = first(node, side);
+        while (!u.isLeaf()) {
+            // If the tangent from the start of this edge leaves its end above, the bridge starts further on.
+            Node a = start(u, side);
+            Node b = end(u, side);
+            u = cross(a, tangent(a, right, side), b) > 0 ? second(u, side) : first(u, side);
+        }
+        return new Node[]{u, tangent(u, right, side)};
+    }
+
+    /**
+     * Find where the tangent from a point before a subtree touches its hull. Of several points on the tangent, the farthest is
+     * returned.
+     */
+    private static Node tangent(Node p, Node node, int side) {
+        while (!node.isLeaf()) {
+            node = cross(p, start(node, side), end(node, side)) >= 0 ? second(node, side) : first(node, side);
+        }
+        return node;
+    }
+
+    private static int cross(Node a, Node b, Node c) {
+        return Geometry.orientation(a.x, a.y, b.x, b.y, c.x, c.y);
+    }
+
+    private static int compare(Node a, Node b) {
+        return compare(a.x, a.y, b);
+    }
+
+    private static int compare(double x, double y, Node b) {
+        if (x != b.x) {
+            return x < b.x ? -1 : 1;
+        }
+        return y < b.y ? -1 : (y > b.y ? 1 : 0);
+    }
+}
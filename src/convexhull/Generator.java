@@ -1,18 +1,29 @@
 package convexhull;
 
-import java.util.Collections;
 import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.Vector;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Generator.java
  * <p/>
  * Generate a random set of vertices
+ * <p/>
+ * Large inputs are generated in parallel straight into coordinate arrays. The range of points is halved recursively down to
+ * blocks of BLOCK_SIZE, and every right half gets its own generator split off its parent's SplittableRandom, so the points depend
+ * only on the seed and the number of points, never on how the blocks were scheduled.
  *
  * @author Chet Mancini Wheaton College, CS 445, Fall 2008 Convex Hull Project Dec 4, 2008
  */
 public class Generator {
 
+    /**
+     * The number of points generated as one block, with one generator.
+     */
+    public static final int BLOCK_SIZE = 1 << 16;
+
     /**
      * Generate a random set of vertices.
      *
@@ -22,17 +33,150 @@ public class Generator {
      * @return the generated Vector of vertices.
      */
     public static Vector<Vertex> generateVertices(int num, int xMax, int yMax) {
-        Vector<Vertex> toReturn = new Vector<Vertex>();
-        Random rand = new Random();
+        return generateVertices(num, xMax, yMax, new Random().nextLong());
+    }
+
+    /**
+     * Generate a reproducible random set of vertices. The lowest vertex on the screen comes first, named P0.
+     *
+     * @param num the number of vertices.
+     * @param xMax the max x value for vertices.
+     * @param yMax the max y value for vertices.
+     * @param seed the seed.
+     * @return the generated Vector of vertices.
+     */
+    public static Vector<Vertex> generateVertices(int num, int xMax, int yMax, long seed) {
+        double[] xs = new double[num];
+        double[] ys = new double[num];
+        generate(Distribution.UNIFORM_SQUARE, xs, ys, num, seed);
+        Vector<Vertex> toReturn = new Vector<Vertex>(num);
+        int lowest = 0;
         for (int i = 0; i < num; i++) {
-            Vertex toAdd = new Vertex(20 + rand.nextInt(xMax - 40), 20 + rand.nextInt(yMax - 40));
+            // Snap the square from -1 to 1 to whole pixels, 20 pixels in from each side, as generatePoints does.
+            Vertex toAdd = new Vertex(20 + (int) ((xs[i] + 1) / 2 * (xMax - 40)), 20 + (int) ((ys[i] + 1) / 2 * (yMax - 40)), "");
             toReturn.add(toAdd);
+            if (toAdd.compareTo(toReturn.elementAt(lowest)) < 0) {
+                lowest = i;
+            }
         }
-        Collections.sort(toReturn);
-        toReturn.elementAt(0).setName("P" + 0);
-        for (int i = 1; i < toReturn.size(); i++) {
-            toReturn.elementAt(i).setName("");
+        if (num > 0) {
+            Vertex first = toReturn.elementAt(lowest);
+            toReturn.set(lowest, toReturn.elementAt(0));
+            toReturn.set(0, first);
+            first.setName("P" + 0);
         }
         return toReturn;
     }
+
+    /**
+     * Generate points from a distribution in parallel on the common pool.
+     *
+     * @param distribution the distribution.
+     * @param n            the number of points.
+     * @param seed         the seed.
+     * @return the points.
+     */
+    public static PointSet generate(Distribution distribution, int n, long seed) {
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        generate(distribution, xs, ys, n, seed);
+        return new PointSet(xs, ys);
+    }
+
+    /**
+     * Fill coordinate arrays with points from a distribution, in parallel on the common pool. The same seed and number of points
+     * always give the same points.
+     *
+     * @param distribution the distribution.
+     * @param xs           where to put the x coordinates.
+     * @param ys           where to put the y coordinates.
+     * @param n            the number of points.
+     * @param seed         the seed.
+     */
+    public static void generate(Distribution distribution, double[] xs, double[] ys, int n, long seed) {
+        if (n < 0 || xs.length < n || ys.length < n) {
+            throw new IllegalArgumentException("Coordinate arrays hold fewer than " + n + " points");
+        }
+        Blocks all = new Blocks(distribution, xs, ys, 0, n, new SplittableRandom(seed));
+        if (n > BLOCK_SIZE) {
+            ForkJoinPool.commonPool().invoke(all);
+        } else {
+            all.compute();
+        }
+    }
+
+    /**
+     * Generate a random set of points straight into a point set, without making vertices.
+     *
+     * @param num the number of points.
+     * @param xMax the max x value for points.
+     * @param yMax the max y value for points.
+     * @return the generated points.
+     */
+    public static PointSet generatePoints(int num, int xMax, int yMax) {
+        return generatePoints(num, xMax, yMax, new Random().nextLong());
+    }
+
+    /**
+     * Generate a reproducible random set of points straight into a point set, without making vertices.
+     *
+     * @param num the number of points.
+     * @param xMax the max x value for points.
+     * @param yMax the max y value for points.
+     * @param seed the seed.
+     * @return the generated points.
+     */
+    public static PointSet generatePoints(int num, int xMax, int yMax, long seed) {
+        double[] xs = new double[num];
+        double[] ys = new double[num];
+        generate(Distribution.UNIFORM_SQUARE, xs, ys, num, seed);
+        for (int i = 0; i < num; i++) {
+            xs[i] = 20 + (int) ((xs[i] + 1) / 2 * (xMax - 40));
+            ys[i] = 20 + (int) ((ys[i] + 1) / 2 * (yMax - 40));
+        }
+        return new PointSet(xs, ys);
+    }
+
+    /**
+     * Generates a range of points, splitting it in half while it is larger than a block.
+     */
+    private static class Blocks extends RecursiveAction {
+
+        private final Distribution distribution;
+
+        private final double[] xs;
+
+        private final double[] ys;
+
+        private final int from;
+
+        private final int to;
+
+        private final SplittableRandom rand;
+
+        Blocks(Distribution distribution, double[] xs, double[] ys, int from, int to, SplittableRandom rand) {
+            this.distribution = distribution;
+            this.xs = xs;
+            this.ys = ys;
+            this.from = from;
+            this.to = to;
+            this.rand = rand;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BLOCK_SIZE) {
+                for (int i = from; i < to; i++) {
+                    distribution.place(rand, xs, ys, i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            // Split before forking, so the right half's generator does not depend on the order tasks run in.
+            Blocks right = new Blocks(distribution, xs, ys, middle, to, rand.split());
+            right.fork();
+            new Blocks(distribution, xs, ys, from, middle, rand).compute();
+            right.join();
+        }
+    }
 }
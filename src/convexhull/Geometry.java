@@ -0,0 +1,131 @@
+package convexhull;
+
+import java.math.BigDecimal;
+
+/**
+ * Geometry.java
+ * <p/>
+ * Geometric predicates shared by the hull engines. Coordinates are plain doubles in a y-up system, so a positive orientation
+ * means a counter-clockwise (left) turn. The orientation test is exact: it is evaluated in double precision together with
+ * Shewchuk's bound on the rounding error, and only when the result is smaller than the bound, which happens for points that are
+ * collinear or within a few ulps of it, is it evaluated again in exact arithmetic.
+ */
+public final class Geometry {
+
+    /**
+     * Shewchuk's bound on the relative error of the double precision orientation determinant, (3 + 16 eps) eps.
+     */
+    static final double ORIENTATION_ERROR_BOUND = (3.0 + 16.0 * 0x1p-53) * 0x1p-53;
+
+    /**
+     * Below this size the products in the determinant may lose precision to underflow, which the error bound does not cover.
+     */
+    static final double ORIENTATION_UNDERFLOW = 0x1p-900;
+
+    private Geometry() {
+    }
+
+    /**
+     * Take the cross product of the vectors a->b and a->c.
+     *
+     * @param ax the x coordinate of a.
+     * @param ay the y coordinate of a.
+     * @param bx the x coordinate of b.
+     * @param by the y coordinate of b.
+     * @param cx the x coordinate of c.
+     * @param cy the y coordinate of c.
+     * @return twice the signed area of the triangle a, b, c.
+     */
+    public static double crossProduct(double ax, double ay, double bx, double by, double cx, double cy) {
+        return (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+    }
+
+    /**
+     * Get the orientation of the triangle a, b, c. The result is always exact for finite coordinates.
+     *
+     * @return 1 if c is to the left of a->b, -1 if it is to the right, 0 if the three points are collinear.
+     */
+    public static int orientation(double ax, double ay, double bx, double by, double cx, double cy) {
+        HullStats.orientationTest();
+        // Shewchuk's form of the determinant, which his error bound is for, has the same sign as crossProduct.
+        double left = (ax - cx) * (by - cy);
+        double right = (ay - cy) * (bx - cx);
+        double det = left - right;
+        double sum = Math.abs(left) + Math.abs(right);
+        if (Math.abs(det) > ORIENTATION_ERROR_BOUND * sum && sum >= ORIENTATION_UNDERFLOW) {
+            return det > 0 ? 1 : -1;
+        }
+        return exactOrientation(ax, ay, bx, by, cx, cy);
+    }
+
+    /**
+     * Get the orientation of the triangle a, b, c of integer points, exactly. Differences of ints fit in a long; when they also
+     * fit in an int their products cannot overflow a long, and otherwise the products are compared as 128-bit numbers.
+     *
+     * @return 1 if c is to the left of a->b, -1 if it is to the right, 0 if the three points are collinear.
+     */
+    public static int orientation(int ax, int ay, int bx, int by, int cx, int cy) {
+        HullStats.orientationTest();
+        long abx = (long) bx - ax;
+        long aby = (long) by - ay;
+        long acx = (long) cx - ax;
+        long acy = (long) cy - ay;
+        if ((int) abx == abx && (int) aby == aby && (int) acx == acx && (int) acy == acy) {
+            return Long.signum(abx * acy - aby * acx);
+        }
+        long leftHigh = Math.multiplyHigh(abx, acy);
+        long rightHigh = Math.multiplyHigh(aby, acx);
+        if (leftHigh != rightHigh) {
+            return leftHigh > rightHigh ? 1 : -1;
+        }
+        return Integer.signum(Long.compareUnsigned(abx * acy, aby * acx));
+    }
+
+    /**
+     * Get the orientation of the triangle a, b, c in exact arithmetic. Coordinates that are infinite or NaN have no exact value,
+     * so for those the double precision result is returned, with NaN counting as collinear.
+     */
+    static int exactOrientation(double ax, double ay, double bx, double by, double cx, double cy) {
+        if (!(Double.isFinite(ax) && Double.isFinite(ay) && Double.isFinite(bx) && Double.isFinite(by) && Double.isFinite(cx)
+                && Double.isFinite(cy))) {
+            double det = crossProduct(ax, ay, bx, by, cx, cy);
+            return det > 0 ? 1 : (det < 0 ? -1 : 0);
+        }
+        if (isInt(ax) && isInt(ay) && isInt(bx) && isInt(by) && isInt(cx) && isInt(cy)) {
+            return orientation((int) ax, (int) ay, (int) bx, (int) by, (int) cx, (int) cy);
+        }
+        BigDecimal x = new BigDecimal(cx);
+        BigDecimal y = new BigDecimal(cy);
+        BigDecimal left = new BigDecimal(ax).subtract(x).multiply(new BigDecimal(by).subtract(y));
+        BigDecimal right = new BigDecimal(ay).subtract(y).multiply(new BigDecimal(bx).subtract(x));
+        return left.compareTo(right);
+    }
+
+    /**
+     * Whether a coordinate is an integer that fits in an int.
+     */
+    private static boolean isInt(double value) {
+        return (int) value == value;
+    }
+
+    /**
+     * Get the squared distance between two points.
+     */
+    public static double distanceSquared(double ax, double ay, double bx, double by) {
+        double dx = bx - ax;
+        double dy = by - ay;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Get the index of the lowest point, breaking ties by the smallest x coordinate.
+     *
+     * @param xs the x coordinates.
+     * @param ys the y coordinates.
+     * @param n  the number of points to consider.
+     * @return the index of the lowest point.
+     */
+    public static int lowest(double[] xs, double[] ys, int n) {
+        return n == 0 ? 0 : OrientationKernels.lowest(xs, ys, 0, n);
+    }
+}
@@ -6,14 +6,20 @@ import java.util.Vector;
 /**
  * GrahamScan.java
  * <p/>
- * Implements Graham's Scan for finding the convex hull.
+ * Animates Graham's Scan for finding the convex hull. The scan itself is done by a GrahamScanEngine; this class mirrors the
+ * engine's stack as the trace plays and draws the edges between the vertices on it.
  *
  * @author Chet Mancini Wheaton College, CS 445, Fall 2008 Convex Hull Project Dec 4, 2008
  */
 public class GrahamScan extends Algorithm {
 
     /**
-     * A stack of vertices for building the hull.
+     * The engine computing the hull.
+     */
+    private HullEngine engine = new GrahamScanEngine();
+
+    /**
+     * A stack of vertices mirroring the engine's stack.
      */
     private GrahamStack stack = new GrahamStack();
 
@@ -29,73 +35,76 @@ public class GrahamScan extends Algorithm {
     }
 
     /**
-     * Draw all the temporary edges to the screen.
+     * Draw all the temporary edges.
      */
-    private void drawTempEdges() {
+    @Override
+    protected void drawOverlay() {
+        pane.setPenColor(Color.RED);
         for (int i = 0; i < tempEdges.size(); i++) {
-            pane.setPenColor(Color.RED);
-            graph.drawLine(tempEdges.elementAt(i));
+            graph.drawOverlayLine(tempEdges.elementAt(i).getFirst(), tempEdges.elementAt(i).getSecond());
         }
     }
 
     /**
-     * Add a temp edge connection the top item of the stack and the 2nd highest element on the stack.
+     * Draw the final convex hull.
+     *
+     * @param hull the indices of the hull vertices.
      */
-    private void addTempEdge() {
-        Edge toWrite = new Edge(stack.top(), stack.nextToTop());
-        tempEdges.add(toWrite);
-        pane.setPenColor(Color.RED);
-        graph.drawLine(toWrite);
-        pause();
+    private void drawFinal(int[] hull) {
+        pane.setPenRadius(.005);
+        pane.setPenColor(Color.BLACK);
+        for (int i = 1; i < hull.length; i++) {
+            graph.addEdge(new Edge(graph.vertices.elementAt(hull[i - 1]), graph.vertices.elementAt(hull[i])));
+        }
+        graph.addEdge(new Edge(graph.vertices.elementAt(hull[hull.length - 1]), graph.vertices.elementAt(hull[0])));
     }
 
     /**
-     * Draw the final convex hull.
+     * Push the vertex onto the stack and add the edge to the one below it.
      */
-    private void drawFinal() {
-        Vertex[] vertArray = new Vertex[stack.size()];
-        for (int i = 0; i < vertArray.length; i++) {
-            vertArray[i] = stack.pop();
-        }
-        pane.setPenRadius(.005);
-        pane.setPenColor(Color.BLACK);
-        for (int i = vertArray.length - 1; i > 0; i--) {
-            graph.addEdge(new Edge(vertArray[i], vertArray[i - 1]));
+    @Override
+    public void pushed(int index) {
+        stack.push(graph.vertices.elementAt(index));
+        if (stack.size() >= 2) {
+            tempEdges.add(new Edge(stack.top(), stack.nextToTop()));
         }
-        graph.addEdge(new Edge(vertArray[0], vertArray[vertArray.length - 1]));
+    }
+
+    /**
+     * Pop the top vertex and its edge.
+     */
+    @Override
+    public void popped(int index) {
+        stack.pop();
+        tempEdges.removeElementAt(tempEdges.size() - 1);
+    }
+
+    /**
+     * Empty the stack.
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        stack.clear();
+        tempEdges.clear();
     }
 
     @Override
     /**
      * Run the algorithm
      * set the pen radius and label the points.
-     * Push the first three items onto the stack.
-     * Loop through all the items, first doing:
-     * while the stack length is >= 2) and  the cross product of the current point and top two stack items
-     * is >= 0, pop items from the stack.
-     * and then pushing the current item onto the stack.
+     * Let the engine scan the points in polar order, recording each push and pop,
+     * play the recording back and then draw the hull the engine returned.
      */
     public void runAlgorithm() {
         pause();
         graph.label();
         pane.setPenRadius(.005);
-        stack.push(graph.vertices.firstElement());
-        stack.push(graph.vertices.elementAt(1));
-        addTempEdge();
-        stack.push(graph.vertices.elementAt(2));
-        addTempEdge();
-        for (int i = 3; i < graph.vertices.size(); i++) {
-            while (stack.size() >= 2 && Vertex.crossProduct(stack.nextToTop(), stack.top(), graph.vertices.elementAt(i)) >= 0) {
-                stack.pop();
-                tempEdges.removeElementAt(tempEdges.size() - 1);
-                graph.drawAll();
-                drawTempEdges();
-                pause(250);
-            }
-            stack.push(graph.vertices.elementAt(i));
-            addTempEdge();
-            pause(400);
-        }
-        drawFinal();
+        PointSet points = graph.toPointSet();
+        // Every point is pushed at most once and popped at most once.
+        HullTrace trace = new HullTrace(Math.max(1, 2 * points.size()));
+        int[] hull = engine.computeHull(points, trace);
+        play(trace, hull);
+        drawFinal(hull);
     }
 }
@@ -0,0 +1,115 @@
+package convexhull;
+
+import java.util.Arrays;
+
+/**
+ * GrahamScanEngine.java
+ * <p/>
+ * Headless Graham's Scan. Sorts the points by polar angle around the lowest point and then keeps a stack of indices, popping
+ * whenever the top two points and the next point fail to make a left turn. The hull starts at the lowest point.
+ */
+public class GrahamScanEngine extends HullEngine {
+
+    @Override
+    public int[] computeHull(double[] xs, double[] ys, int n, HullListener listener) {
+        checkPoints(xs, ys, n);
+        int[] points = new int[n];
+        for (int i = 0; i < n; i++) {
+            points[i] = i;
+        }
+        int size = scan(xs, ys, points, 0, n, listener);
+        return Arrays.copyOf(points, size);
+    }
+
+    /**
+     * Compute the convex hull of the first n points without allocating, once the scratch has grown to n points.
+     *
+     * @param xs      the x coordinates.
+     * @param ys      the y coordinates.
+     * @param n       the number of points to use.
+     * @param hull    where to put the indices of the hull vertices in counter-clockwise order; must hold n indices.
+     * @param scratch working memory, used by one thread at a time.
+     * @return the number of hull vertices.
+     */
+    public int computeHull(double[] xs, double[] ys, int n, int[] hull, HullScratch scratch) {
+        checkPoints(xs, ys, n);
+        if (hull.length < n) {
+            throw new IllegalArgumentException("Hull array holds fewer than " + n + " indices");
+        }
+        for (int i = 0; i < n; i++) {
+            hull[i] = i;
+        }
+        return scan(xs, ys, hull, 0, n, scratch.aux(n / 2 + 1), null);
+    }
+
+    /**
+     * Scan a range of point indices, leaving the indices of their hull at the start of the range. The rest of the range is left
+     * in an unspecified order.
+     *
+     * @param xs       the x coordinates.
+     * @param ys       the y coordinates.
+     * @param points   the point indices.
+     * @param from     the first position to use, inclusive.
+     * @param to       the last position to use, exclusive.
+     * @param listener the listener to report steps to, or null.
+     * @return the number of hull vertices.
+     */
+    static int scan(double[] xs, double[] ys, int[] points, int from, int to, HullListener listener) {
+        return scan(xs, ys, points, from, to, new int[Math.max(to - from, 0) / 2 + 1], listener);
+    }
+
+    /**
+     * Scan a range of point indices, using aux as the buffer for the polar sort.
+     *
+     * @param aux the sort buffer, holding at least (to - from) / 2 + 1 indices.
+     * @see #scan(double[], double[], int[], int, int, HullListener)
+     */
+    static int scan(double[] xs, double[] ys, int[] points, int from, int to, int[] aux, HullListener listener) {
+        if (to <= from) {
+            return 0;
+        }
+        int lowest = from;
+        for (int k = from + 1; k < to; k++) {
+            int i = points[k];
+            int j = points[lowest];
+            if (ys[i] < ys[j] || (ys[i] == ys[j] && xs[i] < xs[j])) {
+                lowest = k;
+            }
+        }
+        int pivot = points[lowest];
+        points[lowest] = points[from];
+        points[from] = pivot;
+        HullStats.PhaseEvent start = HullStats.startPhase();
+        PolarSort.sort(points, from + 1, to, aux, xs, ys, xs[pivot], ys[pivot]);
+        HullStats.endPhase(HullStats.Phase.SORT, start, to - from);
+
+        // The stack grows in place at the start of the range; it never passes the point being read.
+        start = HullStats.startPhase();
+        int top = from + 1;
+        HullStats.push();
+        if (listener != null) {
+            listener.pushed(pivot);
+        }
+        for (int k = from + 1; k < to; k++) {
+            int i = points[k];
+            while (top - from >= 2 && Geometry.orientation(xs[points[top - 2]], ys[points[top - 2]],
+                    xs[points[top - 1]], ys[points[top - 1]], xs[i], ys[i]) <= 0) {
+                top--;
+                HullStats.pop();
+                if (listener != null) {
+                    listener.popped(points[top]);
+                }
+            }
+            if (top - from == 1 && xs[i] == xs[pivot] && ys[i] == ys[pivot]) {
+                continue;
+            }
+            points[top++] = i;
+            HullStats.push();
+            if (listener != null) {
+                listener.pushed(i);
+            }
+        }
+        HullStats.endPhase(HullStats.Phase.SCAN, start, to - from);
+        return top - from;
+    }
+}
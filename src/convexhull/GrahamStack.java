@@ -9,7 +9,7 @@ import java.util.Stack;
  *
  * @author Chet Mancini Wheaton College, CS 445, Fall 2008 Convex Hull Project Dec 4, 2008
  */
-public class GrahamStack extends Stack {
+public class GrahamStack extends Stack<Vertex> {
 
     /**
      * Get the element on the top of the stack, like Peek().
@@ -21,7 +21,7 @@ public class GrahamStack extends Stack {
         if (length == 0) {
             throw new EmptyStackException();
         }
-        return (Vertex) elementAt(length - 1);
+        return elementAt(length - 1);
     }
 
     /**
@@ -35,17 +35,7 @@ public class GrahamStack extends Stack {
             throw new EmptyStackException();
         }
         else {
-            return (Vertex) elementAt(len - 2);
+            return elementAt(len - 2);
         }
     }
-
-    @Override
-    /**
-     * Pop an element from the stack.
-     * @return the top element on the stack
-     * @postcondition the top element is removed.
-     */
-    public Vertex pop() {
-        return (Vertex) super.pop();
-    }
 }
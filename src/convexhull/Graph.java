@@ -1,6 +1,10 @@
 package convexhull;
 
+import javax.swing.*;
 import java.awt.Color;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
 import java.util.Vector;
 
 /**
@@ -8,6 +12,11 @@ import java.util.Vector;
  * Singleton class to represent and manage a graph.
  * Contains vectors of vertices and edges as well as convenience methods for operating on them and interacting with the drawing
  * pane.
+ * Everything is drawn through a Viewport, which the user can pan by dragging and zoom with the mouse wheel once view controls
+ * are enabled. Only the vertices in view are drawn, and when more than GLYPH_LIMIT of them are in view they are drawn as a
+ * DensityRaster instead of one labelled dot each.
+ * The graph's lock guards its vectors and the drawing pane: the view controls redraw from the event dispatch thread while an
+ * animation draws its frames from its own thread, so each frame is drawn holding the lock.
  *
  * @author Chet Mancini Wheaton College, CS 445, Fall 2008 Convex Hull Project Dec 4, 2008
  */
@@ -15,8 +24,32 @@ public class Graph {
 
     private static Graph graph;
 
+    /**
+     * Above this many vertices in view, vertices are drawn as a density raster.
+     */
+    public static final int GLYPH_LIMIT = 2000;
+
+    /**
+     * How far outside the window a vertex can be and still have part of its dot or label show, in window pixels.
+     */
+    private static final double GLYPH_MARGIN = 40;
+
+    /**
+     * How much one notch of the mouse wheel zooms by.
+     */
+    private static final double ZOOM_STEP = 1.25;
+
     private Draw pane = Draw.getInstance();
 
+    private final Viewport viewport = new Viewport();
+
+    private final DensityRaster density = new DensityRaster();
+
+    /**
+     * The vertex coordinates as arrays, for culling and the density raster, or null if they need copying again.
+     */
+    private double[] vertexXs, vertexYs;
+
     public Vector<Vertex> vertices;
 
     public Vector<Edge> edges;
@@ -28,6 +61,18 @@ public class Graph {
      */
     public Vector<Edge> minis;
 
+    /**
+     * Whether the pane's background layer holds the vertices and the first drawnEdges edges, drawnArcs arcs and drawnMinis mini
+     * edges, so that drawChanges only has to add the rest.
+     */
+    private boolean backgroundCurrent;
+
+    private int drawnEdges;
+
+    private int drawnArcs;
+
+    private int drawnMinis;
+
     /**
      * Constructor.
      */
@@ -53,9 +98,13 @@ public class Graph {
      *
      * @param toAdd the vertex to add.
      */
-    public void addVertex(Vertex toAdd) {
+    public synchronized void addVertex(Vertex toAdd) {
+        backgroundCurrent = false;
+        vertexXs = null;
         vertices.add(toAdd);
-        pane.pointNoShow(toAdd.getX(), toAdd.getY(), toAdd.getName());
+        if (viewport.isVisible(toAdd.getX(), toAdd.getY(), pane.getSize(), GLYPH_MARGIN)) {
+            pane.pointNoShow(screenX(toAdd.getX()), screenY(toAdd.getY()), toAdd.getName());
+        }
     }
 
     /**
@@ -63,9 +112,13 @@ public class Graph {
      *
      * @param toAdd the vertex to add.
      */
-    public void addDispVertex(Vertex toAdd) {
+    public synchronized void addDispVertex(Vertex toAdd) {
+        backgroundCurrent = false;
+        vertexXs = null;
         vertices.add(toAdd);
-        pane.point(toAdd.getX(), toAdd.getY(), toAdd.getName());
+        if (viewport.isVisible(toAdd.getX(), toAdd.getY(), pane.getSize(), GLYPH_MARGIN)) {
+            pane.point(screenX(toAdd.getX()), screenY(toAdd.getY()), toAdd.getName());
+        }
     }
 
     /**
@@ -73,10 +126,20 @@ public class Graph {
      *
      * @param toAdd the edge to add.
      */
-    public void addEdge(Edge toAdd) {
+    public synchronized void addEdge(Edge toAdd) {
         edges.add(toAdd);
         pane.setPenRadius(.005);
-        pane.line(toAdd.getFirst().getX(), toAdd.getFirst().getY(), toAdd.getSecond().getX(), toAdd.getSecond().getY());
+        pane.line(screenX(toAdd.getFirst().getX()), screenY(toAdd.getFirst().getY()),
+                screenX(toAdd.getSecond().getX()), screenY(toAdd.getSecond().getY()));
+    }
+
+    /**
+     * Add an edge to the graph, but don't display it.
+     *
+     * @param toAdd the edge to add.
+     */
+    public synchronized void addEdgeNoShow(Edge toAdd) {
+        edges.add(toAdd);
     }
 
     /**
@@ -84,22 +147,34 @@ public class Graph {
      *
      * @param toAdd the arc to add.
      */
-    public void addArc(Arc toAdd) {
-        arcs.add(toAdd);
-        if (toAdd.getAngle1() == 0) {
-            Edge mini = new Edge(new Vertex(toAdd.getX() + 25, toAdd.getY()), new Vertex(toAdd.getX(), toAdd.getY()));
-            minis.add(mini);
-            pane.setPenRadius(.002);
-            pane.line(mini.getFirst().getX(), mini.getFirst().getY(), mini.getSecond().getX(), mini.getSecond().getY());
-        }
-        else {
-            Edge mini = new Edge(new Vertex(toAdd.getX() - 25, toAdd.getY()), new Vertex(toAdd.getX(), toAdd.getY()));
-            minis.add(mini);
-            pane.setPenRadius(.002);
-            pane.line(mini.getFirst().getX(), mini.getFirst().getY(), mini.getSecond().getX(), mini.getSecond().getY());
-        }
+    public synchronized void addArc(Arc toAdd) {
+        addArcNoShow(toAdd);
+        Edge mini = minis.lastElement();
         pane.setPenRadius(.002);
-        pane.arc(toAdd.getX(), toAdd.getY(), toAdd.getRadius(), toAdd.getAngle1(), toAdd.getAngle2());
+        pane.line(screenX(mini.getFirst().getX()), screenY(mini.getFirst().getY()),
+                screenX(mini.getSecond().getX()), screenY(mini.getSecond().getY()));
+        pane.arc(screenX(toAdd.getX()), screenY(toAdd.getY()), toAdd.getRadius(), toAdd.getAngle1(), toAdd.getAngle2());
+    }
+
+    /**
+     * Add an arc, and the mini edge along the axis it is measured from, but don't display them.
+     *
+     * @param toAdd the arc to add.
+     */
+    public synchronized void addArcNoShow(Arc toAdd) {
+        arcs.add(toAdd);
+        double axis = toAdd.getAngle1() == 0 ? toAdd.getX() + 25 : toAdd.getX() - 25;
+        minis.add(new Edge(new Vertex(axis, toAdd.getY()), new Vertex(toAdd.getX(), toAdd.getY())));
+    }
+
+    /**
+     * Remove all the edges, arcs and mini edges, but don't redraw.
+     */
+    public synchronized void clearEdges() {
+        backgroundCurrent = false;
+        edges.clear();
+        arcs.clear();
+        minis.clear();
     }
 
     /**
@@ -108,9 +183,20 @@ public class Graph {
      * @param first one end vertex.
      * @param second other end vertex.
      */
-    public void drawLine(Vertex first, Vertex second) {
+    public synchronized void drawLine(Vertex first, Vertex second) {
+        pane.setPenRadius(.005);
+        pane.line(screenX(first.getX()), screenY(first.getY()), screenX(second.getX()), screenY(second.getY()));
+    }
+
+    /**
+     * Draw a line on the overlay, to be erased when the next frame is drawn with drawChanges, and don't add the edge.
+     *
+     * @param first  one end vertex.
+     * @param second other end vertex.
+     */
+    public synchronized void drawOverlayLine(Vertex first, Vertex second) {
         pane.setPenRadius(.005);
-        pane.line(first.getX(), first.getY(), second.getX(), second.getY());
+        pane.lineOverlay(screenX(first.getX()), screenY(first.getY()), screenX(second.getX()), screenY(second.getY()));
     }
 
     /**
@@ -118,38 +204,39 @@ public class Graph {
      *
      * @param toWrite the edge to write out.
      */
-    public void drawLine(Edge toWrite) {
+    public synchronized void drawLine(Edge toWrite) {
         pane.setPenRadius(.005);
-        pane.line(toWrite.getFirst().getX(), toWrite.getFirst().getY(), toWrite.getSecond().getX(), toWrite.getSecond().getY());
+        pane.line(screenX(toWrite.getFirst().getX()), screenY(toWrite.getFirst().getY()),
+                screenX(toWrite.getSecond().getX()), screenY(toWrite.getSecond().getY()));
     }
 
     /**
      * Sort the vertices by polar coordinates compared to the origin point (lowest y value). This is used by both Graham's Scan and
-     * Jarvis's March.
+     * Jarvis's March. The origin stays first; the rest are ordered with PolarSort in O(n log n).
      */
     private void sortByPolar() {
-        Vertex origin = lowest();
-
-        for (int i = 1; i < vertices.size(); i++) {
-            int minSoFar = i;
-            double minAngle = origin.polarAngleRad(vertices.elementAt(i));
-            for (int j = i + 1; j < vertices.size(); j++) {
-                Vertex other = vertices.elementAt(j);
-                double angle = origin.polarAngleRad(other);
-                if (angle < minAngle) {
-                    minSoFar = j;
-                    minAngle = angle;
-                }
-            }
-            Vertex toInsert = vertices.remove(minSoFar);
-            vertices.insertElementAt(toInsert, i);
+        backgroundCurrent = false;
+        vertexXs = null;
+        int n = vertices.size();
+        PointSet points = toPointSet();
+        double[] xs = points.getXs();
+        double[] ys = points.getYs();
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
         }
+        PolarSort.sort(order, 1, n, xs, ys, xs[0], ys[0]);
+        Vector<Vertex> sorted = new Vector<Vertex>(n);
+        for (int i = 0; i < n; i++) {
+            sorted.add(vertices.elementAt(order[i]));
+        }
+        vertices = sorted;
     }
 
     /**
      * Label the vertices on the graph P1 through Pn, where is is the number of vertices - 1.
      */
-    public void label() {
+    public synchronized void label() {
         pane.clearNoShow();
         sortByPolar();
         for (int i = 1; i < vertices.size(); i++) {
@@ -168,64 +255,245 @@ public class Graph {
         return vertices.firstElement();
     }
 
+    /**
+     * Copy the vertices into a point set, in the order of the vertices vector, with y flipped so that it points up like in
+     * Vertex.crossProduct.
+     *
+     * @return the point set.
+     */
+    public PointSet toPointSet() {
+        int size = pane.getSize();
+        PointSet points = new PointSet(vertices.size());
+        for (int i = 0; i < vertices.size(); i++) {
+            Vertex toAdd = vertices.elementAt(i);
+            points.add(toAdd.getX(), size - toAdd.getY());
+        }
+        return points;
+    }
+
     /**
      * Set the vertices of the graph to a given set.
      *
      * @param vertices the vertices to set as the current set.
      */
-    public void setVertices(Vector<Vertex> vertices) {
+    public synchronized void setVertices(Vector<Vertex> vertices) {
+        backgroundCurrent = false;
+        vertexXs = null;
         this.vertices = vertices;
     }
 
     /**
-     * Display all the vertices currently in the data structure.
+     * Display all the vertices currently in the data structure. The vertices are culled against one snapshot of the viewport,
+     * straight from the cached coordinate arrays.
      */
-    public void drawVertices() {
+    public synchronized void drawVertices() {
         pane.setPenColor(Color.BLACK);
+        int size = pane.getSize();
+        int n = vertices.size();
+        cacheCoordinates();
+        double left;
+        double top;
+        double scale;
+        synchronized (viewport) {
+            left = viewport.getLeft();
+            top = viewport.getTop();
+            scale = viewport.getScale();
+        }
+        if (countVisible(n, left, top, scale, size, GLYPH_LIMIT + 1) > GLYPH_LIMIT) {
+            density.render(vertexXs, vertexYs, n, viewport, pane.getPixels(), size, size);
+            return;
+        }
         pane.setPenRadius(0.015);
-        for (int i = 0; i < vertices.size(); i++) {
-            Vertex toAdd = vertices.elementAt(i);
-            pane.pointNoShow(toAdd.getX(), toAdd.getY(), toAdd.getName());
+        for (int i = 0; i < n; i++) {
+            double sx = (vertexXs[i] - left) * scale;
+            double sy = (vertexYs[i] - top) * scale;
+            if (inView(sx, sy, size)) {
+                pane.pointNoShow(sx, sy, vertices.elementAt(i).getName());
+            }
+        }
+    }
+
+    /**
+     * Count the vertices in view, stopping at a limit.
+     */
+    private int countVisible(int n, double left, double top, double scale, int size, int limit) {
+        int count = 0;
+        for (int i = 0; i < n && count < limit; i++) {
+            if (inView((vertexXs[i] - left) * scale, (vertexYs[i] - top) * scale, size)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Tell whether a window point is in the window, or near enough its edge that a glyph drawn there would show.
+     */
+    private static boolean inView(double sx, double sy, int size) {
+        return sx >= -GLYPH_MARGIN && sx <= size + GLYPH_MARGIN && sy >= -GLYPH_MARGIN && sy <= size + GLYPH_MARGIN;
+    }
+
+    /**
+     * Copy the vertex coordinates into the cached arrays, unless they are still current.
+     */
+    private void cacheCoordinates() {
+        int n = vertices.size();
+        if (vertexXs == null) {
+            vertexXs = new double[n];
+            vertexYs = new double[n];
+            for (int i = 0; i < n; i++) {
+                vertexXs[i] = vertices.elementAt(i).getX();
+                vertexYs[i] = vertices.elementAt(i).getY();
+            }
         }
     }
 
     /**
      * Display all the edges currently in the data structure.
      */
-    public void drawEdges() {
+    public synchronized void drawEdges() {
         pane.setPenRadius(.005);
         for (int i = 0; i < edges.size(); i++) {
             Edge toAdd = edges.elementAt(i);
-            pane.lineNoShow(toAdd.getFirst().getX(), toAdd.getFirst().getY(), toAdd.getSecond().getX(), toAdd.getSecond().getY());
+            pane.lineNoShow(screenX(toAdd.getFirst().getX()), screenY(toAdd.getFirst().getY()),
+                    screenX(toAdd.getSecond().getX()), screenY(toAdd.getSecond().getY()));
         }
     }
 
     /**
      * Display all the arcs currently in the data structure.
      */
-    public void drawArcs() {
+    public synchronized void drawArcs() {
         pane.setPenRadius(.002);
         for (int i = 0; i < arcs.size(); i++) {
             Arc toAdd = arcs.elementAt(i);
-            pane.arcNoShow(toAdd.getX(), toAdd.getY(), toAdd.getRadius(), toAdd.getAngle1(), toAdd.getAngle2());
+            pane.arcNoShow(screenX(toAdd.getX()), screenY(toAdd.getY()), toAdd.getRadius(), toAdd.getAngle1(), toAdd.getAngle2());
         }
     }
 
     /**
      * Display all the mini edges that go with the arcs in the data structure.
      */
-    public void drawMinis() {
+    public synchronized void drawMinis() {
         pane.setPenRadius(.002);
         for (int i = 0; i < minis.size(); i++) {
             Edge toAdd = minis.elementAt(i);
-            pane.lineNoShow(toAdd.getFirst().getX(), toAdd.getFirst().getY(), toAdd.getSecond().getX(), toAdd.getSecond().getY());
+            pane.lineNoShow(screenX(toAdd.getFirst().getX()), screenY(toAdd.getFirst().getY()),
+                    screenX(toAdd.getSecond().getX()), screenY(toAdd.getSecond().getY()));
+        }
+    }
+
+    /**
+     * Bring the pane up to date for a new animation frame, without showing it. The overlay from the last frame is erased, and the
+     * edges, arcs and mini edges added since then are drawn onto the background layer. The whole graph is only redrawn after the
+     * vertices change or the edges are cleared.
+     */
+    public synchronized void drawChanges() {
+        if (!backgroundCurrent) {
+            pane.clearNoShow();
+            drawVertices();
+            drawEdges();
+            drawArcs();
+            drawMinis();
+            pane.saveBackground();
+            drawnEdges = edges.size();
+            drawnArcs = arcs.size();
+            drawnMinis = minis.size();
+            backgroundCurrent = true;
+            return;
+        }
+        pane.clearOverlay();
+        pane.setPenColor(Color.BLACK);
+        pane.setPenRadius(.005);
+        for (; drawnEdges < edges.size(); drawnEdges++) {
+            Edge toAdd = edges.elementAt(drawnEdges);
+            pane.lineBackground(screenX(toAdd.getFirst().getX()), screenY(toAdd.getFirst().getY()),
+                    screenX(toAdd.getSecond().getX()), screenY(toAdd.getSecond().getY()));
+        }
+        pane.setPenRadius(.002);
+        for (; drawnArcs < arcs.size(); drawnArcs++) {
+            Arc toAdd = arcs.elementAt(drawnArcs);
+            pane.arcBackground(screenX(toAdd.getX()), screenY(toAdd.getY()),
+                    toAdd.getRadius(), toAdd.getAngle1(), toAdd.getAngle2());
+        }
+        for (; drawnMinis < minis.size(); drawnMinis++) {
+            Edge toAdd = minis.elementAt(drawnMinis);
+            pane.lineBackground(screenX(toAdd.getFirst().getX()), screenY(toAdd.getFirst().getY()),
+                    screenX(toAdd.getSecond().getX()), screenY(toAdd.getSecond().getY()));
         }
     }
 
+    /**
+     * Redraw everything and show it, after the viewport has moved. A running animation draws its overlay again with its next
+     * frame.
+     */
+    public synchronized void redraw() {
+        backgroundCurrent = false;
+        drawChanges();
+        pane.showChanges();
+    }
+
+    /**
+     * Get the viewport the graph is drawn through.
+     */
+    public Viewport getViewport() {
+        return viewport;
+    }
+
+    /**
+     * Let the user pan the view by dragging, zoom with the mouse wheel and go back to the whole graph with a double click.
+     */
+    public void enableViewControls() {
+        MouseAdapter controls = new MouseAdapter() {
+
+            private int lastX, lastY;
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                lastX = e.getX();
+                lastY = e.getY();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                viewport.pan(e.getX() - lastX, e.getY() - lastY);
+                lastX = e.getX();
+                lastY = e.getY();
+                redraw();
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                viewport.zoom(Math.pow(ZOOM_STEP, -e.getPreciseWheelRotation()), e.getX(), e.getY());
+                redraw();
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    viewport.reset();
+                    redraw();
+                }
+            }
+        };
+        JLabel label = pane.getJLabel();
+        label.addMouseListener(controls);
+        label.addMouseMotionListener(controls);
+        label.addMouseWheelListener(controls);
+    }
+
+    private double screenX(double x) {
+        return viewport.screenX(x);
+    }
+
+    private double screenY(double y) {
+        return viewport.screenY(y);
+    }
+
     /**
      * Display both edges and vertices, clearing the whole pane before drawing.
      */
-    public void drawAll() {
+    public synchronized void drawAll() {
         pane.clearNoShow();
         drawVertices();
         drawEdges();
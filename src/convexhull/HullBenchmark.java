@@ -0,0 +1,85 @@
+package convexhull;
+
+import java.util.Random;
+
+/**
+ * HullBenchmark.java
+ * <p/>
+ * Times the hull engines on inputs with a fixed hull size, to show where Chan's algorithm overtakes Graham's Scan and Jarvis's
+ * March. Each input has h points on a circle and the rest scattered strictly inside the polygon they form. Run with:
+ * <p/>
+ * java convexhull.HullBenchmark [maxPoints]
+ */
+public class HullBenchmark {
+
+    private static final int DEFAULT_MAX_POINTS = 1000000;
+
+    private static final int WARMUP_RUNS = 3;
+
+    private static final int TIMED_RUNS = 5;
+
+    /**
+     * Generate n points whose hull has exactly h vertices.
+     *
+     * @param n    the number of points.
+     * @param h    the number of hull vertices.
+     * @param rand the random number generator.
+     * @return the points.
+     */
+    static PointSet generate(int n, int h, Random rand) {
+        PointSet points = new PointSet(n);
+        for (int i = 0; i < h; i++) {
+            double angle = 2 * Math.PI * i / h;
+            points.add(Math.cos(angle), Math.sin(angle));
+        }
+        double inner = 0.99 * Math.cos(Math.PI / h);
+        for (int i = h; i < n; i++) {
+            double r = inner * Math.sqrt(rand.nextDouble());
+            double angle = 2 * Math.PI * rand.nextDouble();
+            points.add(r * Math.cos(angle), r * Math.sin(angle));
+        }
+        return points;
+    }
+
+    /**
+     * Get the best time of several runs of an engine, in milliseconds.
+     */
+    static double time(HullEngine engine, PointSet points) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            engine.computeHull(points);
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < TIMED_RUNS; i++) {
+            long start = System.nanoTime();
+            engine.computeHull(points);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+
+    public static void main(String[] args) {
+        int maxPoints = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MAX_POINTS;
+        String[] names = {"Graham", "Jarvis", "ParJarvis", "Chan"};
+        HullEngine[] engines = {new GrahamScanEngine(), new JarvisMarchEngine(), new ParallelJarvisMarchEngine(), new ChanEngine()};
+        int[] hullSizes = {8, 64, 512};
+        Random rand = new Random(445);
+        System.out.printf("%10s %6s", "n", "h");
+        for (String name : names) {
+            System.out.printf(" %12s", name + " ms");
+        }
+        System.out.println();
+        for (int n = 1000; n <= maxPoints; n *= 10) {
+            for (int h : hullSizes) {
+                if (h > n) {
+                    continue;
+                }
+                PointSet points = generate(n, h, rand);
+                System.out.printf("%10d %6d", n, h);
+                for (HullEngine engine : engines) {
+                    System.out.printf(" %12.3f", time(engine, points));
+                }
+                System.out.println();
+            }
+        }
+    }
+}
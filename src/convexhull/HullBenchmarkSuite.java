@@ -0,0 +1,159 @@
+package convexhull;
+
+/**
+ * HullBenchmarkSuite.java
+ * <p/>
+ * A quick smoke run of every hull engine, and the polar sort that labels points for the animations, on every Distribution for
+ * n = 10^2 up to 10^7. Each case runs a few times and reports its fastest run and hull size, which is enough to see that nothing
+ * is broken or badly slow. All the subjects share one JVM, so their times are skewed by each other's profiles; measure with the
+ * JMH benchmarks in the benchmarks module instead. A subject is skipped for larger n once a single operation takes longer than
+ * the per-operation limit. With -Dconvexhull.stats=true it also reports the HullStats counts and phase times of one operation of
+ * each case. Run with:
+ * <p/>
+ * java convexhull.HullBenchmarkSuite [maxPoints] [maxMillisPerOperation]
+ */
+public class HullBenchmarkSuite {
+
+    private static final int DEFAULT_MAX_POINTS = 10000000;
+
+    private static final long DEFAULT_MAX_MILLIS_PER_OPERATION = 5000;
+
+    /**
+     * The number of times each case runs.
+     */
+    private static final int RUNS = 3;
+
+    /**
+     * Something to run.
+     */
+    static abstract class Subject {
+
+        private final String name;
+
+        Subject(String name) {
+            this.name = name;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        /**
+         * Run one operation.
+         *
+         * @return the hull size, or for a sort the last index.
+         */
+        abstract int run(PointSet points);
+    }
+
+    /**
+     * Run a hull engine.
+     */
+    static Subject engine(String name, final HullEngine engine) {
+        return new Subject(name) {
+            @Override
+            int run(PointSet points) {
+                return engine.computeHull(points).length;
+            }
+        };
+    }
+
+    /**
+     * Run Graham's Scan writing into a reused hull array and scratch.
+     */
+    static Subject grahamScratch() {
+        return new Subject("GrahamScan scratch") {
+            private final GrahamScanEngine engine = new GrahamScanEngine();
+
+            private final HullScratch scratch = new HullScratch();
+
+            private int[] hull = new int[0];
+
+            @Override
+            int run(PointSet points) {
+                if (hull.length < points.size()) {
+                    hull = new int[points.size()];
+                }
+                return engine.computeHull(points.getXs(), points.getYs(), points.size(), hull, scratch);
+            }
+        };
+    }
+
+    /**
+     * Run the polar sort around the lowest point.
+     */
+    static Subject polarSort() {
+        return new Subject("PolarSort") {
+            @Override
+            int run(PointSet points) {
+                double[] xs = points.getXs();
+                double[] ys = points.getYs();
+                int n = points.size();
+                int pivot = Geometry.lowest(xs, ys, n);
+                int[] order = new int[n];
+                for (int i = 0; i < n; i++) {
+                    order[i] = i;
+                }
+                order[pivot] = 0;
+                order[0] = pivot;
+                PolarSort.sort(order, 1, n, xs, ys, xs[pivot], ys[pivot]);
+                return order[n - 1];
+            }
+        };
+    }
+
+    /**
+     * Get all the subjects to run.
+     */
+    static Subject[] subjects() {
+        return new Subject[]{
+                engine("GrahamScan", new GrahamScanEngine()),
+                grahamScratch(),
+                engine("JarvisMarch", new JarvisMarchEngine()),
+                engine("ParallelJarvis", new ParallelJarvisMarchEngine()),
+                engine("MonotoneChain", new MonotoneChainEngine()),
+                engine("Chan", new ChanEngine()),
+                engine("QuickHull", new QuickHullEngine()),
+                engine("DivideAndConquer", new DivideAndConquerEngine()),
+                engine("AklToussaint+Graham", new AklToussaintFilter(new GrahamScanEngine())),
+                polarSort()
+        };
+    }
+
+    public static void main(String[] args) {
+        int maxPoints = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MAX_POINTS;
+        long maxMillisPerOperation = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_MAX_MILLIS_PER_OPERATION;
+        Subject[] subjects = subjects();
+        System.out.printf("%-20s %-15s %9s %12s %9s%n", "subject", "distribution", "n", "best ms", "result");
+        for (Distribution distribution : Distribution.values()) {
+            boolean[] skipped = new boolean[subjects.length];
+            for (int n = 100; n <= maxPoints; n *= 10) {
+                PointSet points = distribution.generate(n, (long) n);
+                for (int s = 0; s < subjects.length; s++) {
+                    if (skipped[s]) {
+                        continue;
+                    }
+                    long best = Long.MAX_VALUE;
+                    int result = 0;
+                    for (int run = 0; run < RUNS && !skipped[s]; run++) {
+                        HullStats.reset();
+                        long start = System.nanoTime();
+                        result = subjects[s].run(points);
+                        long elapsed = System.nanoTime() - start;
+                        best = Math.min(best, elapsed);
+                        skipped[s] = elapsed / 1e6 > maxMillisPerOperation;
+                    }
+                    System.out.printf("%-20s %-15s %9d %12.3f %9d%n", subjects[s].getName(), distribution, n, best / 1e6, result);
+                    if (HullStats.ENABLED) {
+                        System.out.printf("%-20s %-15s %9d one operation: %s%n", subjects[s].getName(), distribution, n,
+                                HullStats.report());
+                    }
+                    if (skipped[s]) {
+                        System.out.printf("%-20s %-15s %9d skipping larger n: one operation takes over %d ms%n",
+                                subjects[s].getName(), distribution, n, maxMillisPerOperation);
+                    }
+                }
+            }
+        }
+    }
+}
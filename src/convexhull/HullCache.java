@@ -0,0 +1,250 @@
+package convexhull;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HullCache.java
+ * <p/>
+ * Remembers the hulls another engine has computed, so that asking again for the hull of the same points costs one pass over the
+ * coordinates instead of a hull computation. Point sets are told apart by their size and a 128 bit fingerprint of their
+ * coordinates, without keeping the coordinates to compare. The fingerprint is two fast hashes, not a cryptographic one: unrelated
+ * point sets are very unlikely to share one, but structured or deliberately chosen coordinates can, and the cache then returns
+ * the hull of the other set without noticing. Do not pass point sets from untrusted sources through the cache. The cache holds
+ * at most a fixed number of hull vertices in total, and when it is full it evicts the hulls used least recently. Computations
+ * reporting to a listener go straight to the engine, since the listener wants the steps and not just the hull. The cache keeps
+ * running totals of hits, misses and evictions.
+ */
+public class HullCache extends HullEngine {
+
+    /**
+     * The default number of hull vertices to hold: 4 MB of indices.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+
+    private final HullEngine engine;
+
+    private final int capacity;
+
+    /**
+     * The cached hulls, in order from least to most recently used. Guarded by itself.
+     */
+    private final LinkedHashMap<Key, int[]> hulls = new LinkedHashMap<Key, int[]>(16, 0.75f, true);
+
+    private long vertices;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Constructor
+     *
+     * @param engine the engine to compute hulls that are not cached.
+     */
+    public HullCache(HullEngine engine) {
+        this(engine, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param engine   the engine to compute hulls that are not cached.
+     * @param capacity the largest total number of hull vertices to hold.
+     */
+    public HullCache(HullEngine engine, int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        this.engine = engine;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public int[] computeHull(double[] xs, double[] ys, int n, HullListener listener) {
+        checkPoints(xs, ys, n);
+        if (listener != null) {
+            return engine.computeHull(xs, ys, n, listener);
+        }
+        Key key = Key.of(xs, ys, n);
+        int[] hull = lookup(key);
+        if (hull == null) {
+            hull = engine.computeHull(xs, ys, n, null);
+            store(key, hull);
+        }
+        return hull.clone();
+    }
+
+    @Override
+    public int[] computeHull(int[] xs, int[] ys, int n) {
+        checkPoints(xs, ys, n);
+        Key key = Key.of(xs, ys, n);
+        int[] hull = lookup(key);
+        if (hull == null) {
+            hull = engine.computeHull(xs, ys, n);
+            store(key, hull);
+        }
+        return hull.clone();
+    }
+
+    /**
+     * Empty the cache. The running totals are kept.
+     */
+    public void clear() {
+        synchronized (hulls) {
+            hulls.clear();
+            vertices = 0;
+        }
+    }
+
+    /**
+     * Get the number of hulls cached.
+     */
+    public int size() {
+        synchronized (hulls) {
+            return hulls.size();
+        }
+    }
+
+    /**
+     * Get the total number of hulls found in the cache.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get the total number of hulls that had to be computed.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Get the total number of hulls evicted to make room for others.
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    private int[] lookup(Key key) {
+        int[] hull;
+        synchronized (hulls) {
+            hull = hulls.get(key);
+        }
+        (hull == null ? misses : hits).incrementAndGet();
+        return hull;
+    }
+
+    /**
+     * Cache a hull, evicting the least recently used ones until it fits. A hull larger than the whole cache is not stored.
+     */
+    private void store(Key key, int[] hull) {
+        if (hull.length > capacity) {
+            return;
+        }
+        synchronized (hulls) {
+            // Another thread may have computed the same hull in the meantime.
+            int[] previous = hulls.put(key, hull);
+            vertices += hull.length - (previous == null ? 0 : previous.length);
+            Iterator<Map.Entry<Key, int[]>> eldest = hulls.entrySet().iterator();
+            while (vertices > capacity) {
+                vertices -= eldest.next().getValue().length;
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * A fingerprint of a point set: two independent 64 bit hashes of the coordinates, and the number of points.
+     */
+    private static final class Key {
+
+        private static final long FIRST_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+        private static final long SECOND_MULTIPLIER = 0xC2B2AE3D27D4EB4FL;
+
+        private final long first;
+
+        private final long second;
+
+        private final int n;
+
+        private Key(long first, long second, int n) {
+            this.first = first;
+            this.second = second;
+            this.n = n;
+        }
+
+        static Key of(double[] xs, double[] ys, int n) {
+            Fingerprint fingerprint = new Fingerprint();
+            for (int i = 0; i < n; i++) {
+                fingerprint.add(xs[i], ys[i]);
+            }
+            return fingerprint.key(n);
+        }
+
+        /**
+         * Fingerprint integer points the same way as the equal double points: each coordinate is widened to a double and goes
+         * through the same step.
+         */
+        static Key of(int[] xs, int[] ys, int n) {
+            Fingerprint fingerprint = new Fingerprint();
+            for (int i = 0; i < n; i++) {
+                fingerprint.add(xs[i], ys[i]);
+            }
+            return fingerprint.key(n);
+        }
+
+        /**
+         * The finishing step of MurmurHash3, so that every bit of the state affects every bit of the hash.
+         */
+        private static long mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            h *= 0xC4CEB9FE1A85EC53L;
+            return h ^ h >>> 33;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return first == other.first && second == other.second && n == other.n;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) first;
+        }
+
+        /**
+         * The running state of a fingerprint: two independent 64-bit hashes of the coordinates in order.
+         */
+        private static final class Fingerprint {
+
+            private long first = 0;
+
+            private long second = 1;
+
+            void add(double px, double py) {
+                long x = Double.doubleToLongBits(px);
+                long y = Double.doubleToLongBits(py);
+                first = Long.rotateLeft((first ^ x) * FIRST_MULTIPLIER, 31) ^ y;
+                second = Long.rotateLeft((second + y) * SECOND_MULTIPLIER, 29) + x;
+            }
+
+            Key key(int n) {
+                return new Key(mix(first), mix(second), n);
+            }
+        }
+    }
+}
@@ -0,0 +1,681 @@
+package convexhull;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * HullCheck.java
+ * <p/>
+ * Randomized checks of everything that computes a hull, against a reference that uses no code under test. The reference is the
+ * monotone chain over a plain sort, with orientations computed exactly in BigDecimal. The inputs lean towards the hard cases:
+ * duplicate points, points that are all the same or all on a line, points a few ulps off a line, and points on a circle. Every
+ * engine in checkEngines is checked on both its double and integer entry points, with thresholds small enough that the parallel
+ * paths run on small inputs, and the other structures that build hulls each have a check of their own. The orientation predicate
+ * itself is checked against exact arithmetic on nearly collinear triples and on coordinates near the limits of double and int.
+ * The check prints the first few failures and exits with status 1 if there were any. Run with:
+ * <p/>
+ * java convexhull.HullCheck [trials] [seed]
+ */
+public class HullCheck {
+
+    private static final int DEFAULT_TRIALS = 500;
+
+    /**
+     * The number of orientation triples checked per trial.
+     */
+    private static final int TRIPLES_PER_TRIAL = 1000;
+
+    /**
+     * The number of failures described in full.
+     */
+    private static final int FAILURES_SHOWN = 10;
+
+    /**
+     * The kinds of input, from the easy to the degenerate.
+     */
+    private static final int UNIFORM = 0;
+
+    private static final int SMALL_GRID = 1;
+
+    private static final int GRID = 2;
+
+    private static final int LINE = 3;
+
+    private static final int SAME_POINT = 4;
+
+    private static final int NEAR_LINE = 5;
+
+    private static final int ULP_GRID = 6;
+
+    private static final int CIRCLE = 7;
+
+    private static final int KINDS = 8;
+
+    private final Random rand;
+
+    private long checks;
+
+    private long failures;
+
+    /**
+     * Constructor
+     *
+     * @param seed the seed for the inputs.
+     */
+    public HullCheck(long seed) {
+        rand = new Random(seed);
+    }
+
+    /**
+     * Get the number of failures so far.
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * Get the number of checks so far.
+     */
+    public long getChecks() {
+        return checks;
+    }
+
+    /**
+     * Check the double and integer orientation predicates against exact arithmetic.
+     *
+     * @param triples the number of triples of each kind.
+     */
+    public void checkOrientation(int triples) {
+        for (int t = 0; t < triples; t++) {
+            double ax, ay, bx, by, cx, cy;
+            switch (t % 4) {
+                case 0:
+                    // A tiny grid near 0.5 against a far away line through the origin, which rounding gets wrong.
+                    ax = 0.5 + Math.ulp(0.5) * rand.nextInt(256);
+                    ay = 0.5 + Math.ulp(0.5) * rand.nextInt(256);
+                    bx = 12;
+                    by = 12;
+                    cx = 24;
+                    cy = 24;
+                    break;
+                case 1:
+                    double s = rand.nextDouble();
+                    ax = rand.nextDouble();
+                    ay = rand.nextDouble();
+                    bx = ax + s;
+                    by = ay + s * 0.3;
+                    cx = ax + 2 * s + (rand.nextInt(5) - 2) * Math.ulp(ax);
+                    cy = ay + 2 * s * 0.3 + (rand.nextInt(5) - 2) * Math.ulp(ay);
+                    break;
+                case 2:
+                    double scale = Math.scalb(1.0, rand.nextInt(2000) - 1000);
+                    ax = rand.nextDouble() * scale;
+                    ay = rand.nextDouble() * scale;
+                    bx = rand.nextDouble() * scale;
+                    by = rand.nextDouble() * scale;
+                    cx = ax + (bx - ax) * rand.nextInt(3);
+                    cy = ay + (by - ay) * rand.nextInt(3);
+                    break;
+                default:
+                    ax = rand.nextGaussian() * 1e300;
+                    ay = rand.nextGaussian() * 1e300;
+                    bx = rand.nextGaussian() * 1e-300;
+                    by = rand.nextGaussian() * Double.MIN_VALUE * 1000;
+                    cx = -ax;
+                    cy = -ay;
+                    break;
+            }
+            int expected = exactOrientation(ax, ay, bx, by, cx, cy);
+            check(Geometry.orientation(ax, ay, bx, by, cx, cy) == expected, "orientation", ax, ay, bx, by, cx, cy);
+            check(Geometry.orientation(bx, by, cx, cy, ax, ay) == expected && Geometry.orientation(bx, by, ax, ay, cx, cy)
+                    == -expected, "orientation under permutation", ax, ay, bx, by, cx, cy);
+        }
+        for (int t = 0; t < triples; t++) {
+            int[] c = new int[6];
+            for (int k = 0; k < 6; k++) {
+                if (t % 2 == 0) {
+                    c[k] = rand.nextInt();
+                } else {
+                    c[k] = rand.nextBoolean() ? Integer.MAX_VALUE - rand.nextInt(3) : Integer.MIN_VALUE + rand.nextInt(3);
+                }
+            }
+            if (t % 3 == 0) {
+                // Put c on or next to the line through a and b.
+                long k = rand.nextInt(3) - 1;
+                c[4] = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, c[0] + k * ((long) c[2] - c[0])));
+                c[5] = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, c[1] + k * ((long) c[3] - c[1])
+                        + rand.nextInt(3) - 1));
+            }
+            int expected = exactOrientation(c[0], c[1], c[2], c[3], c[4], c[5]);
+            check(Geometry.orientation(c[0], c[1], c[2], c[3], c[4], c[5]) == expected, "integer orientation", c[0], c[1], c[2],
+                    c[3], c[4], c[5]);
+        }
+    }
+
+    /**
+     * Check every engine on random inputs of every kind.
+     *
+     * @param trials the number of inputs.
+     */
+    public void checkEngines(int trials) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        List<HullEngine> engines = new ArrayList<HullEngine>();
+        engines.add(new GrahamScanEngine());
+        engines.add(new JarvisMarchEngine());
+        engines.add(new MonotoneChainEngine());
+        engines.add(new ChanEngine());
+        engines.add(new QuickHullEngine(pool, 1));
+        engines.add(new AklToussaintFilter(new GrahamScanEngine()));
+        engines.add(new AklToussaintFilter(new MonotoneChainEngine()));
+        engines.add(new DivideAndConquerEngine(pool, 1));
+        engines.add(new ParallelJarvisMarchEngine(pool, 1));
+        int cacheVertices = 1000;
+        HullCache cache = new HullCache(new MonotoneChainEngine(), cacheVertices);
+        engines.add(cache);
+        HullScratch scratch = new HullScratch();
+        for (int t = 0; t < trials; t++) {
+            int kind = t % KINDS;
+            PointSet points = points(kind, size(t));
+            double[] xs = points.getXs();
+            double[] ys = points.getYs();
+            int n = points.size();
+            double[][] expected = referenceHull(xs, ys, n);
+            int[] ixs = null;
+            int[] iys = null;
+            if (isIntegral(points)) {
+                ixs = new int[n];
+                iys = new int[n];
+                for (int i = 0; i < n; i++) {
+                    ixs[i] = (int) xs[i];
+                    iys[i] = (int) ys[i];
+                }
+            }
+            for (HullEngine engine : engines) {
+                String name = engine.getClass().getSimpleName();
+                try {
+                    checkHull(name, points, expected, engine.computeHull(xs, ys, n, null));
+                    if (ixs != null) {
+                        checkHull(name + " on ints", points, expected, engine.computeHull(ixs, iys, n));
+                    }
+                } catch (RuntimeException ex) {
+                    check(false, name + " threw " + ex, n);
+                } catch (StackOverflowError ex) {
+                    check(false, name + " overflowed the stack", n);
+                }
+            }
+            // The cache answers the second time from memory.
+            checkHull("HullCache hit", points, expected, cache.computeHull(xs, ys, n, null));
+            if (ixs != null && expected.length <= cacheVertices) {
+                // Integer points share the key of the equal double points.
+                cache.clear();
+                cache.computeHull(xs, ys, n, null);
+                long hits = cache.getHits();
+                cache.computeHull(ixs, iys, n);
+                check(cache.getHits() == hits + 1, "HullCache int key", n);
+            }
+            int[] hull = new int[n];
+            int size = new GrahamScanEngine().computeHull(xs, ys, n, hull, scratch);
+            checkHull("GrahamScanEngine with scratch", points, expected, Arrays.copyOf(hull, size));
+        }
+    }
+
+    /**
+     * Check batches of hulls against the hull of each group on its own.
+     *
+     * @param trials the number of batches.
+     */
+    public void checkBatches(int trials) {
+        BatchHull batch = new BatchHull(ForkJoinPool.commonPool(), 1);
+        for (int t = 0; t < trials; t++) {
+            int groups = rand.nextInt(20);
+            PointSet points = new PointSet();
+            int[] offsets = new int[groups + 1];
+            for (int g = 0; g < groups; g++) {
+                PointSet group = points(rand.nextInt(KINDS), rand.nextInt(30));
+                for (int i = 0; i < group.size(); i++) {
+                    points.add(group.getX(i), group.getY(i));
+                }
+                offsets[g + 1] = points.size();
+            }
+            BatchHull.Result result = batch.computeHulls(points.getXs(), points.getYs(), offsets);
+            check(result.size() == groups, "BatchHull group count", groups, result.size());
+            for (int g = 0; g < groups && g < result.size(); g++) {
+                int[] members = new int[offsets[g + 1] - offsets[g]];
+                for (int k = 0; k < members.length; k++) {
+                    members[k] = offsets[g] + k;
+                }
+                PointSet group = points.subset(members);
+                double[][] expected = referenceHull(group.getXs(), group.getYs(), group.size());
+                int[] hull = result.getHull(g);
+                boolean inGroup = true;
+                for (int i = 0; i < hull.length; i++) {
+                    inGroup &= hull[i] >= offsets[g] && hull[i] < offsets[g + 1];
+                }
+                check(inGroup, "BatchHull index outside its group", g);
+                checkHull("BatchHull", points, expected, hull);
+            }
+        }
+    }
+
+    /**
+     * Check the incremental hull after every few points added.
+     *
+     * @param trials the number of hulls built.
+     */
+    public void checkIncremental(int trials) {
+        for (int t = 0; t < trials; t++) {
+            PointSet points = points(t % KINDS, size(t));
+            IncrementalHull hull = new IncrementalHull();
+            for (int i = 0; i < points.size(); i++) {
+                hull.add(points.getX(i), points.getY(i));
+                if (i < 16 || Integer.bitCount(i) == 1 || i == points.size() - 1) {
+                    double[][] expected = referenceHull(points.getXs(), points.getYs(), i + 1);
+                    PointSet actual = hull.toPointSet();
+                    checkVertices("IncrementalHull", expected, actual);
+                    check(hull.size() == actual.size(), "IncrementalHull size", hull.size(), actual.size());
+                }
+            }
+        }
+    }
+
+    /**
+     * Check the dynamic hull through random insertions and deletions.
+     *
+     * @param trials the number of hulls built.
+     */
+    public void checkDynamic(int trials) {
+        for (int t = 0; t < trials; t++) {
+            int kind = t % KINDS;
+            DynamicHull hull = new DynamicHull();
+            PointSet pool = points(kind, 1 + Math.min(size(t), 200));
+            List<double[]> present = new ArrayList<double[]>();
+            int operations = 1 + rand.nextInt(3 * pool.size());
+            for (int o = 0; o < operations; o++) {
+                if (present.isEmpty() || rand.nextInt(3) > 0) {
+                    int i = rand.nextInt(pool.size());
+                    double x = pool.getX(i);
+                    double y = pool.getY(i);
+                    boolean already = indexOf(present, x, y) >= 0;
+                    check(hull.insert(x, y) == !already, "DynamicHull insert result", x, y);
+                    if (!already) {
+                        present.add(new double[]{x, y});
+                    }
+                } else {
+                    double[] p = present.remove(rand.nextInt(present.size()));
+                    check(hull.delete(p[0], p[1]), "DynamicHull delete result", p[0], p[1]);
+                    check(!hull.delete(p[0], p[1]), "DynamicHull deleted twice", p[0], p[1]);
+                }
+                check(hull.size() == present.size(), "DynamicHull size", hull.size(), present.size());
+                if (o % 5 != 0 && o != operations - 1) {
+                    continue;
+                }
+                PointSet current = toPointSet(present);
+                checkVertices("DynamicHull", referenceHull(current.getXs(), current.getYs(), current.size()), hull.toPointSet());
+            }
+        }
+    }
+
+    /**
+     * Check the sliding-window hull, limited by count, by age or both, against the points a plain list says are in the window.
+     *
+     * @param trials the number of windows.
+     */
+    public void checkSlidingWindow(int trials) {
+        for (int t = 0; t < trials; t++) {
+            int maxPoints = t % 3 == 1 ? Integer.MAX_VALUE : 1 + rand.nextInt(t % 2 == 0 ? 50 : 1000);
+            long maxAge = t % 3 == 0 ? Long.MAX_VALUE : rand.nextInt(200);
+            int bucketSize = 1 + rand.nextInt(t % 4 == 0 ? 4 : 100);
+            SlidingWindowHull hull = new SlidingWindowHull(maxPoints, maxAge, bucketSize);
+            PointSet stream = points(t % KINDS, rand.nextInt(2000));
+            List<double[]> added = new ArrayList<double[]>();
+            long now = 0;
+            for (int i = 0; i < stream.size(); i++) {
+                now += rand.nextInt(3);
+                if (rand.nextInt(20) == 0) {
+                    now += rand.nextInt(50);
+                    hull.advance(now);
+                }
+                hull.add(stream.getX(i), stream.getY(i), now);
+                added.add(new double[]{stream.getX(i), stream.getY(i), now});
+                if (i % 13 != 0 && i != stream.size() - 1) {
+                    continue;
+                }
+                List<double[]> window = new ArrayList<double[]>();
+                for (int k = Math.max(0, added.size() - maxPoints); k < added.size(); k++) {
+                    if (now - (long) added.get(k)[2] <= maxAge) {
+                        window.add(added.get(k));
+                    }
+                }
+                check(hull.size() == window.size(), "SlidingWindowHull size", hull.size(), window.size());
+                PointSet current = toPointSet(window);
+                checkVertices("SlidingWindowHull", referenceHull(current.getXs(), current.getYs(), current.size()),
+                        hull.toPointSet());
+            }
+        }
+    }
+
+    /**
+     * Check the hull of a point file, in chunks small enough that most files are merged from several chunk hulls.
+     *
+     * @param trials the number of files written.
+     */
+    public void checkMappedFile(int trials) {
+        for (int t = 0; t < trials; t++) {
+            PointSet points = points(t % KINDS, size(t));
+            double[][] expected = referenceHull(points.getXs(), points.getYs(), points.size());
+            try {
+                File file = File.createTempFile("hullcheck", ".points");
+                try {
+                    MappedPointFile.write(file, points);
+                    MappedPointFile mapped = new MappedPointFile(file, 1 + rand.nextInt(64));
+                    try {
+                        checkVertices("MappedPointFile", expected, mapped.computeHull(new MonotoneChainEngine(),
+                                ForkJoinPool.commonPool()));
+                    } finally {
+                        mapped.close();
+                    }
+                } finally {
+                    file.delete();
+                }
+            } catch (IOException ex) {
+                check(false, "MappedPointFile threw " + ex, points.size());
+            }
+        }
+    }
+
+    /**
+     * Check merging overlapping hulls, and merging hulls that are separated in x by index.
+     *
+     * @param trials the number of merges of each kind.
+     */
+    public void checkMerge(int trials) {
+        HullEngine engine = new MonotoneChainEngine();
+        for (int t = 0; t < trials; t++) {
+            PointSet a = points(t % KINDS, size(t));
+            PointSet b = points(rand.nextInt(KINDS), size(t));
+            PointSet merged = HullMerge.merge(a.subset(engine.computeHull(a)), b.subset(engine.computeHull(b)));
+            PointSet both = new PointSet();
+            for (int i = 0; i < a.size(); i++) {
+                both.add(a.getX(i), a.getY(i));
+            }
+            for (int i = 0; i < b.size(); i++) {
+                both.add(b.getX(i), b.getY(i));
+            }
+            checkVertices("HullMerge of overlapping hulls", referenceHull(both.getXs(), both.getYs(), both.size()), merged);
+
+            // Shift the second set past the first in x, so the index merge applies.
+            double shift = 1;
+            for (int i = 0; i < a.size(); i++) {
+                shift = Math.max(shift, 2 * Math.abs(a.getX(i)) + 1);
+            }
+            for (int i = 0; i < b.size(); i++) {
+                shift = Math.max(shift, 2 * Math.abs(b.getX(i)) + 1);
+            }
+            PointSet separated = new PointSet();
+            for (int i = 0; i < a.size(); i++) {
+                separated.add(a.getX(i), a.getY(i));
+            }
+            for (int i = 0; i < b.size(); i++) {
+                separated.add(b.getX(i) + shift, b.getY(i));
+            }
+            int[] left = engine.computeHull(a);
+            int[] second = new int[b.size()];
+            for (int i = 0; i < b.size(); i++) {
+                second[i] = a.size() + i;
+            }
+            PointSet shifted = separated.subset(second);
+            int[] rightHull = engine.computeHull(shifted);
+            for (int i = 0; i < rightHull.length; i++) {
+                rightHull[i] += a.size();
+            }
+            double[] xs = separated.getXs();
+            double[] ys = separated.getYs();
+            checkHull("HullMerge by index", separated, referenceHull(xs, ys, separated.size()),
+                    HullMerge.merge(xs, ys, left, rightHull));
+        }
+    }
+
+    /**
+     * Generate points of a kind.
+     */
+    PointSet points(int kind, int n) {
+        PointSet points = new PointSet(n);
+        double cx = rand.nextDouble();
+        double cy = rand.nextDouble();
+        int range = kind == SMALL_GRID ? 4 : 30;
+        for (int i = 0; i < n; i++) {
+            switch (kind) {
+                case UNIFORM:
+                    points.add(rand.nextDouble(), rand.nextDouble());
+                    break;
+                case SMALL_GRID:
+                case GRID:
+                    points.add(rand.nextInt(range), rand.nextInt(range));
+                    break;
+                case LINE:
+                    int x = rand.nextInt(1000);
+                    points.add(x, 2 * x + 1);
+                    break;
+                case SAME_POINT:
+                    points.add(3, 7);
+                    break;
+                case NEAR_LINE:
+                    double s = rand.nextDouble();
+                    points.add(s + Math.ulp(1.0) * (rand.nextInt(3) - 1), s * 0.7 + Math.ulp(1.0) * (rand.nextInt(3) - 1));
+                    break;
+                case ULP_GRID:
+                    points.add(cx + Math.ulp(cx) * rand.nextInt(16), cy + Math.ulp(cy) * rand.nextInt(16));
+                    break;
+                default:
+                    double angle = 2 * Math.PI * rand.nextInt(Math.max(n, 3)) / Math.max(n, 3);
+                    points.add(Math.cos(angle), Math.sin(angle));
+                    break;
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Pick an input size: mostly tiny, where the special cases are, sometimes large enough to split across threads.
+     */
+    private int size(int trial) {
+        int bucket = rand.nextInt(10);
+        if (bucket < 6) {
+            return rand.nextInt(13);
+        } else if (bucket < 9) {
+            return rand.nextInt(300);
+        }
+        return rand.nextInt(trial % 2 == 0 ? 3000 : 20000);
+    }
+
+    private static boolean isIntegral(PointSet points) {
+        for (int i = 0; i < points.size(); i++) {
+            if (points.getX(i) != (int) points.getX(i) || points.getY(i) != (int) points.getY(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(List<double[]> points, double x, double y) {
+        for (int i = 0; i < points.size(); i++) {
+            if (points.get(i)[0] == x && points.get(i)[1] == y) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static PointSet toPointSet(List<double[]> points) {
+        PointSet set = new PointSet(points.size());
+        for (double[] p : points) {
+            set.add(p[0], p[1]);
+        }
+        return set;
+    }
+
+    /**
+     * Get the hull of the first n points by the monotone chain with exact orientations, as vertex coordinates in counter-clockwise
+     * order starting with the point with the smallest x (and then y) coordinate.
+     */
+    static double[][] referenceHull(final double[] xs, final double[] ys, int n) {
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            public int compare(Integer a, Integer b) {
+                int byX = Double.compare(xs[a] + 0.0, xs[b] + 0.0);
+                return byX != 0 ? byX : Double.compare(ys[a] + 0.0, ys[b] + 0.0);
+            }
+        });
+        List<Integer> distinct = new ArrayList<Integer>();
+        for (int i = 0; i < n; i++) {
+            int last = distinct.isEmpty() ? -1 : distinct.get(distinct.size() - 1);
+            if (last < 0 || xs[last] != xs[order[i]] || ys[last] != ys[order[i]]) {
+                distinct.add(order[i]);
+            }
+        }
+        int m = distinct.size();
+        if (m <= 2) {
+            double[][] hull = new double[m][];
+            for (int i = 0; i < m; i++) {
+                hull[i] = new double[]{xs[distinct.get(i)], ys[distinct.get(i)]};
+            }
+            return hull;
+        }
+        int[] stack = new int[2 * m];
+        int size = 0;
+        for (int k = 0; k < m; k++) {
+            int i = distinct.get(k);
+            while (size >= 2 && exactOrientation(xs, ys, stack[size - 2], stack[size - 1], i) <= 0) {
+                size--;
+            }
+            stack[size++] = i;
+        }
+        int lowerSize = size + 1;
+        for (int k = m - 2; k >= 0; k--) {
+            int i = distinct.get(k);
+            while (size >= lowerSize && exactOrientation(xs, ys, stack[size - 2], stack[size - 1], i) <= 0) {
+                size--;
+            }
+            stack[size++] = i;
+        }
+        size--;
+        double[][] hull = new double[size][];
+        for (int k = 0; k < size; k++) {
+            hull[k] = new double[]{xs[stack[k]], ys[stack[k]]};
+        }
+        return hull;
+    }
+
+    private static int exactOrientation(double[] xs, double[] ys, int a, int b, int c) {
+        return exactOrientation(xs[a], ys[a], xs[b], ys[b], xs[c], ys[c]);
+    }
+
+    /**
+     * Get the orientation of a, b, c in BigDecimal arithmetic, which is exact for finite doubles.
+     */
+    static int exactOrientation(double ax, double ay, double bx, double by, double cx, double cy) {
+        BigDecimal left = new BigDecimal(bx).subtract(new BigDecimal(ax)).multiply(new BigDecimal(cy).subtract(new BigDecimal(ay)));
+        BigDecimal right = new BigDecimal(by).subtract(new BigDecimal(ay)).multiply(new BigDecimal(cx).subtract(new BigDecimal(ax)));
+        return left.compareTo(right);
+    }
+
+    /**
+     * Get the orientation of integer points a, b, c in BigInteger arithmetic.
+     */
+    static int exactOrientation(int ax, int ay, int bx, int by, int cx, int cy) {
+        BigInteger left = BigInteger.valueOf((long) bx - ax).multiply(BigInteger.valueOf((long) cy - ay));
+        BigInteger right = BigInteger.valueOf((long) by - ay).multiply(BigInteger.valueOf((long) cx - ax));
+        return left.compareTo(right);
+    }
+
+    /**
+     * Check a hull given as indices into a point set.
+     */
+    private void checkHull(String name, PointSet points, double[][] expected, int[] hull) {
+        PointSet vertices = new PointSet(hull.length);
+        for (int i : hull) {
+            if (i < 0 || i >= points.size()) {
+                check(false, name + " index out of range", i, points.size());
+                return;
+            }
+            vertices.add(points.getX(i), points.getY(i));
+        }
+        checkVertices(name, expected, vertices);
+    }
+
+    /**
+     * Check that a hull has the expected vertices in counter-clockwise order, starting anywhere.
+     */
+    private void checkVertices(String name, double[][] expected, PointSet actual) {
+        int n = actual.size();
+        int first = 0;
+        for (int i = 1; i < n; i++) {
+            if (actual.getX(i) < actual.getX(first) || (actual.getX(i) == actual.getX(first) && actual.getY(i) < actual.getY(first))) {
+                first = i;
+            }
+        }
+        boolean same = n == expected.length;
+        for (int k = 0; same && k < n; k++) {
+            int i = (first + k) % n;
+            same = actual.getX(i) == expected[k][0] && actual.getY(i) == expected[k][1];
+        }
+        if (!same && failures < FAILURES_SHOWN) {
+            StringBuilder got = new StringBuilder();
+            for (int i = 0; i < n; i++) {
+                got.append(i == 0 ? "" : " ").append('(').append(actual.getX(i)).append(", ").append(actual.getY(i)).append(')');
+            }
+            StringBuilder want = new StringBuilder();
+            for (int k = 0; k < expected.length; k++) {
+                want.append(k == 0 ? "" : " ").append('(').append(expected[k][0]).append(", ").append(expected[k][1]).append(')');
+            }
+            System.out.println("FAIL " + name + ": got " + got + ", expected " + want);
+        }
+        count(same);
+    }
+
+    private void check(boolean ok, String what, Object... details) {
+        if (!ok && failures < FAILURES_SHOWN) {
+            System.out.println("FAIL " + what + ": " + Arrays.toString(details));
+        }
+        count(ok);
+    }
+
+    private void count(boolean ok) {
+        checks++;
+        if (!ok) {
+            failures++;
+        }
+    }
+
+    public static void main(String[] args) {
+        int trials = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TRIALS;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        System.out.println("seed " + seed);
+        HullCheck check = new HullCheck(seed);
+        long start = System.nanoTime();
+        check.checkOrientation(trials * TRIPLES_PER_TRIAL);
+        check.checkEngines(trials);
+        check.checkBatches(trials / 4);
+        check.checkIncremental(trials);
+        check.checkDynamic(trials / 4);
+        check.checkSlidingWindow(trials / 8);
+        check.checkMappedFile(trials / 8);
+        check.checkMerge(trials);
+        System.out.printf("%d checks, %d failures, %.1f s%n", check.getChecks(), check.getFailures(),
+                (System.nanoTime() - start) / 1e9);
+        if (check.getFailures() > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package convexhull;
+
+/**
+ * HullEngine.java
+ * <p/>
+ * Abstract superclass for headless convex hull computations. An engine takes parallel coordinate arrays and returns the indices
+ * of the hull vertices in counter-clockwise order (y pointing up), without collinear or duplicate vertices. Engines hold no
+ * per-run state, so a single instance may be used from many threads at once.
+ */
+public abstract class HullEngine {
+
+    /**
+     * Compute the convex hull of all the given points.
+     *
+     * @param xs the x coordinates.
+     * @param ys the y coordinates.
+     * @return the indices of the hull vertices in counter-clockwise order.
+     */
+    public int[] computeHull(double[] xs, double[] ys) {
+        return computeHull(xs, ys, xs.length, null);
+    }
+
+    /**
+     * Compute the convex hull of a point set.
+     *
+     * @param points the points.
+     * @return the indices of the hull vertices in counter-clockwise order.
+     */
+    public int[] computeHull(PointSet points) {
+        return computeHull(points.getXs(), points.getYs(), points.size(), null);
+    }
+
+    /**
+     * Compute the convex hull of a point set, reporting each step to a listener.
+     *
+     * @param points   the points.
+     * @param listener the listener to report steps to, or null.
+     * @return the indices of the hull vertices in counter-clockwise order.
+     */
+    public int[] computeHull(PointSet points, HullListener listener) {
+        return computeHull(points.getXs(), points.getYs(), points.size(), listener);
+    }
+
+    /**
+     * Compute the convex hull of the first n points, reporting each step to a listener.
+     *
+     * @param xs       the x coordinates.
+     * @param ys       the y coordinates.
+     * @param n        the number of points to use.
+     * @param listener the listener to report steps to, or null.
+     * @return the indices of the hull vertices in counter-clockwise order.
+     */
+    public abstract int[] computeHull(double[] xs, double[] ys, int n, HullListener listener);
+
+    /**
+     * Compute the convex hull of the first n integer points. Orientation tests are exact either way; this converts the points to
+     * doubles, which represent every int exactly, and engines with an integer implementation override it.
+     *
+     * @param xs the x coordinates.
+     * @param ys the y coordinates.
+     * @param n  the number of points to use.
+     * @return the indices of the hull vertices in counter-clockwise order.
+     */
+    public int[] computeHull(int[] xs, int[] ys, int n) {
+        checkPoints(xs, ys, n);
+        double[] dxs = new double[n];
+        double[] dys = new double[n];
+        for (int i = 0; i < n; i++) {
+            dxs[i] = xs[i];
+            dys[i] = ys[i];
+        }
+        return computeHull(dxs, dys, n, null);
+    }
+
+    /**
+     * Make sure the coordinate arrays hold at least n points.
+     */
+    protected static void checkPoints(double[] xs, double[] ys, int n) {
+        if (n < 0 || xs.length < n || ys.length < n) {
+            throw new IllegalArgumentException("Coordinate arrays hold fewer than " + n + " points");
+        }
+    }
+
+    /**
+     * Make sure the integer coordinate arrays hold at least n points.
+     */
+    protected static void checkPoints(int[] xs, int[] ys, int n) {
+        if (n < 0 || xs.length < n || ys.length < n) {
+            throw new IllegalArgumentException("Coordinate arrays hold fewer than " + n + " points");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package convexhull;
+
+/**
+ * HullListener.java
+ * <p/>
+ * Receives the individual steps of a hull engine as they happen. All arguments are indices into the coordinate arrays the engine
+ * was given. Engines call the listener on the computing thread, so a listener only needs to be thread safe if it is shared between
+ * concurrent runs.
+ */
+public interface HullListener {
+
+    /**
+     * A point was pushed onto the working stack.
+     *
+     * @param index the point pushed.
+     */
+    void pushed(int index);
+
+    /**
+     * A point was popped off the working stack.
+     *
+     * @param index the point popped.
+     */
+    void popped(int index);
+
+    /**
+     * A point is being tested as the next hull vertex after another.
+     *
+     * @param from the current hull vertex.
+     * @param to   the candidate.
+     */
+    void candidate(int from, int to);
+
+    /**
+     * An edge was added to the hull.
+     *
+     * @param from the first end of the edge.
+     * @param to   the second end of the edge.
+     */
+    void edgeAdded(int from, int to);
+}
@@ -0,0 +1,156 @@
+package convexhull;
+
+import java.util.Arrays;
+
+/**
+ * HullMerge.java
+ * <p/>
+ * Combines convex hulls in time linear in their sizes, without looking at the points they were built from. Hulls that are
+ * separated, with every point of one before every point of the other in x and then y order, are joined by walking the upper and
+ * lower tangents between them. Hulls that may overlap, such as ones computed in other threads or processes from arbitrary subsets
+ * of the points, are merged by combining their chains, which are already in x order, and running one monotone chain pass.
+ */
+public final class HullMerge {
+
+    private HullMerge() {
+    }
+
+    /**
+     * Join two separated hulls along their upper and lower tangents.
+     *
+     * @param xs    the x coordinates.
+     * @param ys    the y coordinates.
+     * @param left  the indices of one hull's vertices in counter-clockwise order, with no collinear or repeated vertices.
+     * @param right the same for the other hull, every point of which must come after every point of the left hull in x and then
+     *              y order.
+     * @return the indices of the hull of both in counter-clockwise order, starting with the point with the smallest x (and then
+     * y) coordinate.
+     */
+    public static int[] merge(double[] xs, double[] ys, int[] left, int[] right) {
+        if (left.length == 0 || right.length == 0) {
+            int[] hull = left.length == 0 ? right : left;
+            return hull.length == 0 ? hull : join(chain(xs, ys, hull, 1), chain(xs, ys, hull, -1));
+        }
+        int[] leftLower = chain(xs, ys, left, 1);
+        int[] leftUpper = chain(xs, ys, left, -1);
+        int[] rightLower = chain(xs, ys, right, 1);
+        int[] rightUpper = chain(xs, ys, right, -1);
+        return join(join(xs, ys, leftLower, rightLower, -1), join(xs, ys, leftUpper, rightUpper, 1));
+    }
+
+    /**
+     * Merge two hulls that may overlap.
+     *
+     * @param a the vertices of one hull in counter-clockwise order, with no collinear or repeated vertices.
+     * @param b the same for the other hull.
+     * @return the vertices of the hull of both in counter-clockwise order, starting with the point with the smallest x (and then
+     * y) coordinate.
+     */
+    public static PointSet merge(PointSet a, PointSet b) {
+        int n = a.size() + b.size();
+        PointSet both = new PointSet(n);
+        int[] first = new int[a.size()];
+        int[] second = new int[b.size()];
+        for (int i = 0; i < a.size(); i++) {
+            first[i] = both.add(a.getX(i), a.getY(i));
+        }
+        for (int i = 0; i < b.size(); i++) {
+            second[i] = both.add(b.getX(i), b.getY(i));
+        }
+        double[] xs = both.getXs();
+        double[] ys = both.getYs();
+        int[] order = new int[0];
+        if (first.length > 0) {
+            order = sorted(xs, ys, chain(xs, ys, first, 1), chain(xs, ys, first, -1));
+        }
+        if (second.length > 0) {
+            order = sorted(xs, ys, order, sorted(xs, ys, chain(xs, ys, second, 1), chain(xs, ys, second, -1)));
+        }
+        int[] hull = new int[2 * order.length + 1];
+        int size = MonotoneChainEngine.chain(xs, ys, order, 0, order.length, hull, null);
+        return both.subset(Arrays.copyOf(hull, size));
+    }
+
+    /**
+     * Get the lower or upper chain of a hull, from its first point in x and then y order to its last.
+     *
+     * @param direction 1 for the lower chain, which runs counter-clockwise, or -1 for the upper chain.
+     */
+    private static int[] chain(double[] xs, double[] ys, int[] hull, int direction) {
+        int first = 0;
+        int last = 0;
+        for (int k = 1; k < hull.length; k++) {
+            if (LexicographicSort.compare(hull[k], hull[first], xs, ys) < 0) {
+                first = k;
+            }
+            if (LexicographicSort.compare(hull[k], hull[last], xs, ys) > 0) {
+                last = k;
+            }
+        }
+        int length = 1 + Math.floorMod(direction * (last - first), hull.length);
+        int[] chain = new int[length];
+        for (int k = 0; k < length; k++) {
+            chain[k] = hull[Math.floorMod(first + direction * k, hull.length)];
+        }
+        return chain;
+    }
+
+    /**
+     * Join the lower and upper chains of a hull into the hull, in counter-clockwise order.
+     */
+    private static int[] join(int[] lower, int[] upper) {
+        int[] hull = Arrays.copyOf(lower, lower.length + Math.max(upper.length - 2, 0));
+        for (int k = 1; k < upper.length - 1; k++) {
+            hull[lower.length + k - 1] = upper[upper.length - 1 - k];
+        }
+        return hull;
+    }
+
+    /**
+     * Join two separated chains along their common tangent.
+     *
+     * @param side 1 for upper chains, where every point must end up on or below the tangent, or -1 for lower chains.
+     * @return the joined chain.
+     */
+    private static int[] join(double[] xs, double[] ys, int[] left, int[] right, int side) {
+        int i = left.length - 1;
+        int j = 0;
+        boolean moved = true;
+        while (moved) {
+            moved = false;
+            // Of several points on the tangent, keep the farthest apart.
+            while (i > 0 && side * orientation(xs, ys, left[i], right[j], left[i - 1]) >= 0) {
+                i--;
+                moved = true;
+            }
+            while (j < right.length - 1 && side * orientation(xs, ys, left[i], right[j], right[j + 1]) >= 0) {
+                j++;
+                moved = true;
+            }
+        }
+        int[] joined = Arrays.copyOf(left, i + 1 + right.length - j);
+        System.arraycopy(right, j, joined, i + 1, right.length - j);
+        return joined;
+    }
+
+    /**
+     * Merge two index arrays already in x and then y order.
+     */
+    private static int[] sorted(double[] xs, double[] ys, int[] a, int[] b) {
+        int[] merged = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < merged.length; k++) {
+            if (j == b.length || (i < a.length && LexicographicSort.compare(a[i], b[j], xs, ys) <= 0)) {
+                merged[k] = a[i++];
+            } else {
+                merged[k] = b[j++];
+            }
+        }
+        return merged;
+    }
+
+    private static int orientation(double[] xs, double[] ys, int a, int b, int c) {
+        return Geometry.orientation(xs[a], ys[a], xs[b], ys[b], xs[c], ys[c]);
+    }
+}
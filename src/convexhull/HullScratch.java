@@ -0,0 +1,43 @@
+package convexhull;
+
+/**
+ * HullScratch.java
+ * <p/>
+ * Working memory for hull computations that should not allocate. The buffers grow to the largest input seen and are then reused,
+ * so after the first few calls a computation using a scratch produces no garbage. A scratch must only be used by one thread at a
+ * time; keep one per thread.
+ */
+public class HullScratch {
+
+    private int[] aux;
+
+    /**
+     * Constructor
+     */
+    public HullScratch() {
+        this(0);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param capacity the number of points to make room for up front.
+     */
+    public HullScratch(int capacity) {
+        aux = new int[capacity / 2 + 1];
+    }
+
+    /**
+     * Get a buffer of at least n point indices, for sorting. Its contents are unspecified.
+     */
+    int[] aux(int n) {
+        if (aux.length < n) {
+            aux = new int[grow(aux.length, n)];
+        }
+        return aux;
+    }
+
+    private static int grow(int capacity, int needed) {
+        return (int) Math.min(Integer.MAX_VALUE - 8, Math.max((long) needed, capacity + ((long) capacity >> 1)));
+    }
+}
@@ -0,0 +1,289 @@
+package convexhull;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HullStats.java
+ * <p/>
+ * Counts what the hull engines do: orientation tests, stack pushes and pops, sort comparisons and points culled, and how long
+ * each phase of a computation takes. Counting is off unless the JVM is started with -Dconvexhull.stats=true. The switch is a
+ * static final constant, so when it is off the JIT removes every call to this class from the hot paths and they cost nothing.
+ * When it is on, the counters are LongAdders, which threads can update at once without contending, and every phase of at least
+ * EVENT_POINTS points is also recorded as a JDK Flight Recorder event, along with the counter totals once a second.
+ */
+public final class HullStats {
+
+    /**
+     * Whether anything is counted.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("convexhull.stats");
+
+    /**
+     * Phases on fewer points than this are added to the totals but not recorded as events, so that the many small scans of
+     * Chan's algorithm or a batch of hulls do not flood the recording.
+     */
+    public static final int EVENT_POINTS = 1 << 12;
+
+    /**
+     * The phases of a hull computation that are timed.
+     */
+    public enum Phase {
+        /** Sorting the points, by angle or by coordinate. */
+        SORT,
+        /** Building a hull from sorted points with a stack, or by recursive partitioning. */
+        SCAN,
+        /** Wrapping around the points or mini hulls one vertex at a time. */
+        WRAP,
+        /** Combining hulls computed separately. */
+        MERGE,
+        /** Throwing away points that cannot be on the hull. */
+        FILTER
+    }
+
+    private static final LongAdder orientationTests = new LongAdder();
+
+    private static final LongAdder pushes = new LongAdder();
+
+    private static final LongAdder pops = new LongAdder();
+
+    private static final LongAdder comparisons = new LongAdder();
+
+    private static final LongAdder culled = new LongAdder();
+
+    private static final LongAdder[] phaseNanos = new LongAdder[Phase.values().length];
+
+    static {
+        for (int p = 0; p < phaseNanos.length; p++) {
+            phaseNanos[p] = new LongAdder();
+        }
+        if (ENABLED) {
+            FlightRecorder.addPeriodicEvent(CountersEvent.class, new Runnable() {
+                public void run() {
+                    CountersEvent event = new CountersEvent();
+                    event.orientationTests = orientationTests.sum();
+                    event.pushes = pushes.sum();
+                    event.pops = pops.sum();
+                    event.comparisons = comparisons.sum();
+                    event.culled = culled.sum();
+                    event.commit();
+                }
+            });
+        }
+    }
+
+    private HullStats() {
+    }
+
+    /**
+     * Count an orientation test.
+     */
+    static void orientationTest() {
+        if (ENABLED) {
+            orientationTests.increment();
+        }
+    }
+
+    /**
+     * Count a batch of orientation tests.
+     */
+    static void orientationTests(int count) {
+        if (ENABLED) {
+            orientationTests.add(count);
+        }
+    }
+
+    /**
+     * Count a push onto a hull stack.
+     */
+    static void push() {
+        if (ENABLED) {
+            pushes.increment();
+        }
+    }
+
+    /**
+     * Count a pop off a hull stack.
+     */
+    static void pop() {
+        if (ENABLED) {
+            pops.increment();
+        }
+    }
+
+    /**
+     * Count a comparison of two points while sorting.
+     */
+    static void comparison() {
+        if (ENABLED) {
+            comparisons.increment();
+        }
+    }
+
+    /**
+     * Count points thrown away before the hull is computed.
+     */
+    static void culled(int count) {
+        if (ENABLED) {
+            culled.add(count);
+        }
+    }
+
+    /**
+     * Note the start of a phase, beginning its flight recorder event.
+     *
+     * @return the event to pass to endPhase, or null if nothing is counted.
+     */
+    static PhaseEvent startPhase() {
+        if (!ENABLED) {
+            return null;
+        }
+        PhaseEvent event = new PhaseEvent();
+        event.start = System.nanoTime();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Note the end of a phase, adding its time to the total and committing its flight recorder event if it is large enough.
+     *
+     * @param phase  the phase.
+     * @param event  what startPhase returned.
+     * @param points the number of points the phase worked on.
+     */
+    static void endPhase(Phase phase, PhaseEvent event, int points) {
+        if (ENABLED) {
+            event.end();
+            phaseNanos[phase.ordinal()].add(System.nanoTime() - event.start);
+            if (points >= EVENT_POINTS && event.shouldCommit()) {
+                event.phase = phase.name();
+                event.points = points;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Get the total number of orientation tests.
+     */
+    public static long getOrientationTests() {
+        return orientationTests.sum();
+    }
+
+    /**
+     * Get the total number of pushes onto hull stacks.
+     */
+    public static long getPushes() {
+        return pushes.sum();
+    }
+
+    /**
+     * Get the total number of pops off hull stacks.
+     */
+    public static long getPops() {
+        return pops.sum();
+    }
+
+    /**
+     * Get the total number of comparisons of two points by coordinate or by angle, nearly all of them made while sorting. Sorts of
+     * packed primitive keys do not compare points and are not counted.
+     */
+    public static long getComparisons() {
+        return comparisons.sum();
+    }
+
+    /**
+     * Get the total number of points culled.
+     */
+    public static long getCulled() {
+        return culled.sum();
+    }
+
+    /**
+     * Get the total time spent in a phase, summed over all threads.
+     */
+    public static long getPhaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()].sum();
+    }
+
+    /**
+     * Set every total back to zero. Counts made while this runs may be lost.
+     */
+    public static void reset() {
+        orientationTests.reset();
+        pushes.reset();
+        pops.reset();
+        comparisons.reset();
+        culled.reset();
+        for (int p = 0; p < phaseNanos.length; p++) {
+            phaseNanos[p].reset();
+        }
+    }
+
+    /**
+     * Describe the totals in one line.
+     */
+    public static String report() {
+        if (!ENABLED) {
+            return "stats off; run with -Dconvexhull.stats=true";
+        }
+        StringBuilder out = new StringBuilder();
+        out.append("orientation tests ").append(getOrientationTests()).append(", pushes ").append(getPushes()).append(", pops ")
+                .append(getPops()).append(", comparisons ").append(getComparisons()).append(", culled ").append(getCulled());
+        for (Phase phase : Phase.values()) {
+            out.append(String.format(", %s %.1f ms", phase.name().toLowerCase(), getPhaseNanos(phase) / 1e6));
+        }
+        return out.toString();
+    }
+
+    @Name("convexhull.Phase")
+    @Label("Hull Phase")
+    @Category("Convex Hull")
+    @Description("One phase of a hull computation")
+    @StackTrace(false)
+    static class PhaseEvent extends Event {
+
+        @Label("Phase")
+        String phase;
+
+        @Label("Points")
+        int points;
+
+        /**
+         * When the phase started, for the totals; the event's own duration is what the recording shows.
+         */
+        transient long start;
+    }
+
+    @Name("convexhull.Counters")
+    @Label("Hull Counters")
+    @Category("Convex Hull")
+    @Description("Running totals of hull engine operations")
+    @Period("1 s")
+    @StackTrace(false)
+    static class CountersEvent extends Event {
+
+        @Label("Orientation Tests")
+        long orientationTests;
+
+        @Label("Pushes")
+        long pushes;
+
+        @Label("Pops")
+        long pops;
+
+        @Label("Comparisons")
+        long comparisons;
+
+        @Label("Culled")
+        long culled;
+    }
+}
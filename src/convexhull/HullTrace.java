@@ -0,0 +1,196 @@
+package convexhull;
+
+import java.util.Arrays;
+
+/**
+ * HullTrace.java
+ * <p/>
+ * A listener that records the steps of a hull computation so they can be played back later, instead of drawing each one as it
+ * happens. Every step is packed into one long, holding its kind and the one or two point indices it involves, and stored in a
+ * buffer that grows as the steps come in, up to the trace's capacity, and is then used as a ring. Recording costs a few
+ * nanoseconds a step, so the engine runs at full speed. If a computation takes more steps than the capacity, the oldest are
+ * overwritten and getDropped says how many; such a trace can no longer be played back from the start. A trace must be written
+ * by one thread at a time, but may be read while it is written.
+ */
+public class HullTrace implements HullListener {
+
+    /**
+     * The kind of a step pushing a point.
+     */
+    public static final int PUSHED = 0;
+
+    /**
+     * The kind of a step popping a point.
+     */
+    public static final int POPPED = 1;
+
+    /**
+     * The kind of a step testing a candidate edge.
+     */
+    public static final int CANDIDATE = 2;
+
+    /**
+     * The kind of a step adding a hull edge.
+     */
+    public static final int EDGE_ADDED = 3;
+
+    /**
+     * The default number of steps to hold: at most 32 MB of trace.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 22;
+
+    /**
+     * The number of steps the buffer starts with room for.
+     */
+    private static final int INITIAL_SIZE = 1 << 10;
+
+    private static final long INDEX_MASK = (1L << 31) - 1;
+
+    private final int capacity;
+
+    /**
+     * The buffer, replaced by a larger copy as it fills until it holds capacity steps.
+     */
+    private volatile long[] steps;
+
+    /**
+     * The total number of steps ever recorded. Written only by the recording thread.
+     */
+    private volatile long recorded;
+
+    /**
+     * Constructor
+     */
+    public HullTrace() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param capacity the largest number of steps to hold.
+     */
+    public HullTrace(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        this.capacity = capacity;
+        steps = new long[Math.min(capacity, INITIAL_SIZE)];
+    }
+
+    public void pushed(int index) {
+        record(PUSHED, index, 0);
+    }
+
+    public void popped(int index) {
+        record(POPPED, index, 0);
+    }
+
+    public void candidate(int from, int to) {
+        record(CANDIDATE, from, to);
+    }
+
+    public void edgeAdded(int from, int to) {
+        record(EDGE_ADDED, from, to);
+    }
+
+    private void record(int kind, int first, int second) {
+        long count = recorded;
+        long[] held = steps;
+        if (count == held.length && count < capacity) {
+            // The buffer has not wrapped yet, so the copy keeps every step at the same position.
+            held = Arrays.copyOf(held, (int) Math.min(capacity, 2 * count));
+            steps = held;
+        }
+        held[(int) (count % held.length)] = (long) kind << 62 | (long) first << 31 | second;
+        recorded = count + 1;
+    }
+
+    /**
+     * Get the number of the first step still held, counting from zero at the start of the trace.
+     */
+    public long first() {
+        return Math.max(0, recorded - capacity);
+    }
+
+    /**
+     * Get the number of steps recorded so far, which is one past the number of the last step held.
+     */
+    public long end() {
+        return recorded;
+    }
+
+    /**
+     * Get the number of steps lost to the buffer filling up.
+     */
+    public long getDropped() {
+        return first();
+    }
+
+    /**
+     * Forget every step.
+     */
+    public void clear() {
+        recorded = 0;
+    }
+
+    /**
+     * Get the kind of a step: PUSHED, POPPED, CANDIDATE or EDGE_ADDED.
+     *
+     * @param step the number of the step, from first() inclusive to end() exclusive.
+     */
+    public int getKind(long step) {
+        return (int) (get(step) >>> 62);
+    }
+
+    /**
+     * Get the point a step pushes or pops, or the point a candidate or hull edge starts from.
+     */
+    public int getFirst(long step) {
+        return (int) (get(step) >>> 31 & INDEX_MASK);
+    }
+
+    /**
+     * Get the point a candidate or hull edge goes to, or 0 for a push or pop.
+     */
+    public int getSecond(long step) {
+        return (int) (get(step) & INDEX_MASK);
+    }
+
+    /**
+     * Replay a range of steps to a listener, in order.
+     *
+     * @param from     the number of the first step, inclusive.
+     * @param to       the number of the last step, exclusive.
+     * @param listener the listener to replay to.
+     */
+    public void replay(long from, long to, HullListener listener) {
+        for (long step = from; step < to; step++) {
+            long packed = get(step);
+            int first = (int) (packed >>> 31 & INDEX_MASK);
+            int second = (int) (packed & INDEX_MASK);
+            switch ((int) (packed >>> 62)) {
+                case PUSHED:
+                    listener.pushed(first);
+                    break;
+                case POPPED:
+                    listener.popped(first);
+                    break;
+                case CANDIDATE:
+                    listener.candidate(first, second);
+                    break;
+                default:
+                    listener.edgeAdded(first, second);
+                    break;
+            }
+        }
+    }
+
+    private long get(long step) {
+        if (step < first() || step >= recorded) {
+            throw new IndexOutOfBoundsException("Step " + step + " is not held; the trace holds " + first() + " to " + recorded);
+        }
+        long[] held = steps;
+        return held[(int) (step % held.length)];
+    }
+}
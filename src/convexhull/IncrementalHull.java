@@ -0,0 +1,165 @@
+package convexhull;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * IncrementalHull.java
+ * <p/>
+ * A convex hull that points are added to one at a time. The hull is kept as its lower and upper chains, each a balanced tree
+ * mapping x to y. A new point is first tested against its neighbors in x, so interior points are rejected in O(log h); a point
+ * that does extend the hull is inserted and the neighbors it makes concave are removed, which is amortized O(log h) since every
+ * point is removed at most once. The hull can be read at any time without recomputation. Not synchronized.
+ */
+public class IncrementalHull {
+
+    /**
+     * The upper chain, left to right, holding the highest point at each end.
+     */
+    private final TreeMap<Double, Double> upper = new TreeMap<Double, Double>();
+
+    /**
+     * The lower chain, left to right, holding the lowest point at each end.
+     */
+    private final TreeMap<Double, Double> lower = new TreeMap<Double, Double>();
+
+    /**
+     * Add a point.
+     *
+     * @param x the x coordinate.
+     * @param y the y coordinate.
+     * @return true if the point is now a hull vertex, false if it was inside or on the hull.
+     */
+    public boolean add(double x, double y) {
+        // Adding zero turns -0.0 into 0.0, which the trees would otherwise keep as a separate key.
+        x += 0.0;
+        boolean onUpper = insert(upper, x, y, 1);
+        boolean onLower = insert(lower, x, y, -1);
+        return onUpper || onLower;
+    }
+
+    /**
+     * Whether a point is inside or on the hull.
+     *
+     * @param x the x coordinate.
+     * @param y the y coordinate.
+     * @return true if the point is inside or on the hull.
+     */
+    public boolean contains(double x, double y) {
+        x += 0.0;
+        return !outside(upper, x, y, 1) && !outside(lower, x, y, -1);
+    }
+
+    /**
+     * Whether any points have been added.
+     */
+    public boolean isEmpty() {
+        return upper.isEmpty();
+    }
+
+    /**
+     * Get the number of hull vertices.
+     *
+     * @return the number of hull vertices.
+     */
+    public int size() {
+        if (upper.isEmpty()) {
+            return 0;
+        }
+        int size = upper.size() + lower.size();
+        if (upper.firstEntry().getValue().doubleValue() == lower.firstEntry().getValue()) {
+            size--;
+        }
+        if (upper.lastEntry().getValue().doubleValue() == lower.lastEntry().getValue()) {
+            size--;
+        }
+        return Math.max(size, 1);
+    }
+
+    /**
+     * Copy the hull vertices into a point set, in counter-clockwise order starting with the lowest of the leftmost points.
+     *
+     * @return the hull.
+     */
+    public PointSet toPointSet() {
+        PointSet hull = new PointSet(size());
+        if (upper.isEmpty()) {
+            return hull;
+        }
+        for (Map.Entry<Double, Double> vertex : lower.entrySet()) {
+            hull.add(vertex.getKey(), vertex.getValue());
+        }
+        // The chains share their end points when there is only one point at the smallest or largest x.
+        boolean sharedRight = upper.lastEntry().getValue().doubleValue() == lower.lastEntry().getValue();
+        boolean sharedLeft = upper.firstEntry().getValue().doubleValue() == lower.firstEntry().getValue();
+        int k = 0;
+        for (Map.Entry<Double, Double> vertex : upper.descendingMap().entrySet()) {
+            if (!(k == 0 && sharedRight) && !(k == upper.size() - 1 && sharedLeft)) {
+                hull.add(vertex.getKey(), vertex.getValue());
+            }
+            k++;
+        }
+        return hull;
+    }
+
+    /**
+     * Whether a point is strictly outside a chain.
+     *
+     * @param side 1 for the upper chain, -1 for the lower chain.
+     */
+    private static boolean outside(TreeMap<Double, Double> chain, double x, double y, int side) {
+        if (chain.isEmpty() || x < chain.firstKey() || x > chain.lastKey()) {
+            return true;
+        }
+        Map.Entry<Double, Double> left = chain.floorEntry(x);
+        if (left.getKey() == x) {
+            return side * (y - left.getValue()) > 0;
+        }
+        Map.Entry<Double, Double> right = chain.higherEntry(x);
+        return side * Geometry.orientation(left.getKey(), left.getValue(), right.getKey(), right.getValue(), x, y) > 0;
+    }
+
+    /**
+     * Insert a point into a chain, unless it is on or below it (on or above it for the lower chain).
+     *
+     * @param side 1 for the upper chain, -1 for the lower chain.
+     * @return whether the point was inserted.
+     */
+    private static boolean insert(TreeMap<Double, Double> chain, double x, double y, int side) {
+        Double existing = chain.get(x);
+        if (existing != null) {
+            if (side * (y - existing) <= 0) {
+                return false;
+            }
+        } else {
+            Map.Entry<Double, Double> left = chain.lowerEntry(x);
+            Map.Entry<Double, Double> right = chain.higherEntry(x);
+            if (left != null && right != null
+                    && side * Geometry.orientation(left.getKey(), left.getValue(), right.getKey(), right.getValue(), x, y) <= 0) {
+                return false;
+            }
+        }
+        chain.put(x, y);
+
+        // Remove the neighbors on each side that no longer make a proper turn.
+        Map.Entry<Double, Double> a = chain.lowerEntry(x);
+        while (a != null) {
+            Map.Entry<Double, Double> b = chain.lowerEntry(a.getKey());
+            if (b == null || side * Geometry.orientation(b.getKey(), b.getValue(), a.getKey(), a.getValue(), x, y) < 0) {
+                break;
+            }
+            chain.remove(a.getKey());
+            a = b;
+        }
+        Map.Entry<Double, Double> c = chain.higherEntry(x);
+        while (c != null) {
+            Map.Entry<Double, Double> d = chain.higherEntry(c.getKey());
+            if (d == null || side * Geometry.orientation(x, y, c.getKey(), c.getValue(), d.getKey(), d.getValue()) < 0) {
+                break;
+            }
+            chain.remove(c.getKey());
+            c = d;
+        }
+        return true;
+    }
+}
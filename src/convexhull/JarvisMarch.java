@@ -1,12 +1,12 @@
 package convexhull;
 
 import java.awt.*;
-import java.util.Vector;
 
 /**
  * JarvisMarch.java
  * <p/>
- * Class to Implement the Jarvis's March Convex Hull Algorithm.
+ * Animates the Jarvis's March Convex Hull Algorithm. The march itself is done by a JarvisMarchEngine; as the trace plays, this
+ * class shows the candidate being tested and adds every hull edge with an arc showing its polar angle.
  *
  * @author Chet Mancini Wheaton College, CS 445, Fall 2008 Convex Hull Project Dec 4, 2008
  */
@@ -14,139 +14,99 @@ import java.util.Vector;
 public class JarvisMarch extends Algorithm {
 
     /**
-     * A vector of vertices to pull from creating the hull.  Initially a copy of vertices from the graph.
+     * The engine computing the hull.
      */
-    Vector<Vertex> copy = new Vector<Vertex>();
+    private HullEngine engine = new JarvisMarchEngine();
 
     /**
-     * A vector of vertices making up the convex hull.
+     * Whether the march is still going up the right side of the hull.
      */
-    Vector<Vertex> hull = new Vector<Vertex>();
+    private boolean rightSide = true;
+
+    /**
+     * The smallest y coordinate on screen, which is where the right side ends.
+     */
+    private double top;
+
+    /**
+     * The candidate edge being tested, or null if there is none.
+     */
+    private Edge candidate;
 
     public JarvisMarch() {
     }
 
     /**
-     * Get the next vertex going up the right side of the convex hull
-     * <p/>
-     * Finds the vertex with the smallest polar angle to the current one. Only look at vertices greater than the current y
-     * coordinate (less than because flipped). Draw lines to vertices we're looking at in a red line. If a smaller polar angle is
-     * found, save that one to return later.
-     *
-     * @param current the vertex currently on
-     * @return the next vertex
+     * Get the vertex with the greatest y coordinate.
      */
-    private Vertex nextRight(Vertex current) {
-        Vertex toReturn = copy.firstElement();
-        double angle = 1000;
-        if (current.polarAngleRad(toReturn) > 0) {
-            angle = current.polarAngleRad(toReturn);
-        }
-        for (int i = 0; i < copy.size(); i++) {
-            Vertex possible = copy.elementAt(i);
-            if (possible.getY() < current.getY() && !possible.equals(toReturn)) {
-                pane.setPenColor(Color.RED);
-                graph.drawLine(current, possible);
-                pause(200);
-                pane.clearNoShow();
-                graph.drawAll();
-                double possibleAngle = current.polarAngleRad(possible);
-                if (possibleAngle < angle && possibleAngle >= 0) {
-                    toReturn = possible;
-                    angle = possibleAngle;
-                }
+    private Vertex getYMax() {
+        Vertex ymax = graph.vertices.firstElement();
+        for (int i = 0; i < graph.vertices.size(); i++) {
+            if (graph.vertices.elementAt(i).getY() < ymax.getY()) {
+                ymax = graph.vertices.elementAt(i);
             }
         }
-        return toReturn;
+        return ymax;
     }
 
     /**
-     * Get the next vertex going down the left side of the convex hull
-     * Finds the vertex with the largest (most negative) negative polar angle. Only look at vertices less than the current y
-     * coordinate (greater than because flipped). Draw lines to vertices we're looking at in a red line. If a smaller polar angle is
-     * found, save that one to return later.
-     *
-     * @param current the vertex currently on
-     * @return the next vertex
+     * Show a red line to the vertex being looked at.
      */
-    private Vertex nextLeft(Vertex current) {
-        Vertex toReturn = copy.firstElement();
-        double angle = current.polarAngleRad(toReturn);
-        for (int i = 0; i < copy.size(); i++) {
-            Vertex possible = copy.elementAt(i);
-            if (possible.getY() > current.getY() && !possible.equals(toReturn)) {
-                double possibleAngle = current.polarAngleRad(possible);
-                pane.setPenColor(Color.RED);
-                graph.drawLine(current, possible);
-                pause(200);
-                pane.clearNoShow();
-                graph.drawAll();
-                if (possibleAngle < angle && possibleAngle <= 0) {
-                    toReturn = possible;
-                    angle = possibleAngle;
-                }
-            }
-        }
-        return toReturn;
+    @Override
+    public void candidate(int from, int to) {
+        candidate = new Edge(graph.vertices.elementAt(from), graph.vertices.elementAt(to));
     }
 
     /**
-     * Get the vertex with the greatest y coordinate.
+     * Add the edge to the graph with an arc showing its polar angle. Arcs are measured from the right going up the right side of
+     * the hull and from the left coming back down.
      */
-    private Vertex getYMax() {
-        Vertex ymax = copy.firstElement();
-        for (int i = 0; i < copy.size(); i++) {
-            if (copy.elementAt(i).getY() < ymax.getY()) {
-                ymax = copy.elementAt(i);
-            }
+    @Override
+    public void edgeAdded(int from, int to) {
+        Vertex current = graph.vertices.elementAt(from);
+        Vertex next = graph.vertices.elementAt(to);
+        graph.addEdgeNoShow(new Edge(current, next));
+        graph.addArcNoShow(new Arc(current.getX(), current.getY(), 20, rightSide ? 0 : 180,
+                Math.toDegrees(current.polarAngleRad(next))));
+        candidate = null;
+        if (next.getY() == top) {
+            rightSide = false;
         }
-        return ymax;
     }
 
     /**
-     * Run the algorithm Copy vertices into vector to work with. label all the vertices Set the pen radius for drawing lines. Get
-     * the top vertex, which is where we will stop Go up to the top and then back down finding the next, adding it to the graph,
-     * adding it to the hull, and pausing for animation. When the current vertex is back to our starting point, quit.
+     * Go back to the start of the right side, with no edges.
      */
     @Override
-    public void runAlgorithm() {
+    public void reset() {
+        super.reset();
+        rightSide = true;
+        candidate = null;
+    }
 
-        for (int i = 0; i < graph.vertices.size(); i++) {
-            copy.add(graph.vertices.elementAt(i));
+    @Override
+    protected void drawOverlay() {
+        if (candidate != null) {
+            pane.setPenColor(Color.RED);
+            graph.drawOverlayLine(candidate.getFirst(), candidate.getSecond());
         }
+    }
 
+    /**
+     * Run the algorithm. label all the vertices Set the pen radius for drawing lines. Get the top vertex, which is where the arcs
+     * switch sides. Let the engine march around the hull, recording each candidate and edge, and play the recording back.
+     */
+    @Override
+    public void runAlgorithm() {
         pause();
         graph.label();
         pane.setPenRadius(.005);
-
-        Vertex ymax = getYMax();
-
-        hull.add(copy.firstElement());
-        boolean rightSide = true;
-        Vertex current = hull.firstElement();
-        do {
-            if (rightSide) {
-                Vertex next = nextRight(current);
-                graph.addEdge(new Edge(current, next));
-                graph.addArc(new Arc(current.getX(), current.getY(), 20, 0, Math.toDegrees(current.polarAngleRad(next))));
-                pause();
-                hull.add(next);
-                copy.remove(next);
-                current = next;
-                if (next.equals(ymax)) {
-                    rightSide = false;
-                }
-            }
-            else {
-                Vertex next = nextLeft(current);
-                graph.addEdge(new Edge(current, next));
-                graph.addArc(new Arc(current.getX(), current.getY(), 20, 180, Math.toDegrees(current.polarAngleRad(next))));
-                pause();
-                hull.add(next);
-                copy.remove(next);
-                current = next;
-            }
-        }
-        while (!(current.equals(hull.elementAt(0))));
+        top = getYMax().getY();
+        PointSet points = graph.toPointSet();
+        // Each hull vertex takes at most one candidate per point and an edge; the trace grows towards this as it fills.
+        long steps = (long) points.size() * (points.size() + 1);
+        HullTrace trace = new HullTrace((int) Math.max(1, Math.min(HullTrace.DEFAULT_CAPACITY, steps)));
+        int[] hull = engine.computeHull(points, trace);
+        play(trace, hull);
     }
 }
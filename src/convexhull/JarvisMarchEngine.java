@@ -0,0 +1,98 @@
+package convexhull;
+
+import java.util.Arrays;
+
+/**
+ * JarvisMarchEngine.java
+ * <p/>
+ * Headless Jarvis's March (gift wrapping). Starting from the lowest point, repeatedly picks the candidate that every other point
+ * lies to the left of, preferring the farthest one when candidates are collinear, until it wraps back to the start. Without a
+ * listener the points are scanned in blocks, and a block whose points are all strictly to the left of the best candidate so far
+ * is ruled out with one batch of orientation tests.
+ */
+public class JarvisMarchEngine extends HullEngine {
+
+    @Override
+    public int[] computeHull(double[] xs, double[] ys, int n, HullListener listener) {
+        checkPoints(xs, ys, n);
+        if (n == 0) {
+            return new int[0];
+        }
+        int start = Geometry.lowest(xs, ys, n);
+        int[] hull = new int[n];
+        int size = 0;
+        int current = start;
+        HullStats.PhaseEvent began = HullStats.startPhase();
+        do {
+            hull[size++] = current;
+            int next = nextVertex(xs, ys, n, current, listener);
+            if (next < 0) {
+                break;
+            }
+            if (listener != null) {
+                listener.edgeAdded(current, next);
+            }
+            current = next;
+        }
+        while (size < n && !(xs[current] == xs[start] && ys[current] == ys[start]));
+        HullStats.endPhase(HullStats.Phase.WRAP, began, n);
+        return Arrays.copyOf(hull, size);
+    }
+
+    /**
+     * Find the vertex following current on the hull.
+     *
+     * @return the index of the next vertex, or -1 if every point coincides with current.
+     */
+    int nextVertex(double[] xs, double[] ys, int n, int current, HullListener listener) {
+        return bestCandidate(xs, ys, 0, n, current, listener);
+    }
+
+    /**
+     * Find the best candidate for the vertex following current among a range of points.
+     *
+     * @return the index of the candidate, or -1 if every point in the range coincides with current.
+     */
+    static int bestCandidate(double[] xs, double[] ys, int from, int to, int current, HullListener listener) {
+        double cx = xs[current];
+        double cy = ys[current];
+        int next = -1;
+        for (int block = from; block < to; block += OrientationKernels.BLOCK_SIZE) {
+            int end = Math.min(to, block + OrientationKernels.BLOCK_SIZE);
+            if (next >= 0 && listener == null
+                    && OrientationKernels.leftMargin(xs, ys, block, end, cx, cy, xs[next], ys[next]) > 0) {
+                continue;
+            }
+            for (int i = block; i < end; i++) {
+                if (xs[i] == cx && ys[i] == cy) {
+                    continue;
+                }
+                if (listener != null) {
+                    listener.candidate(current, i);
+                }
+                next = better(xs, ys, current, next, i);
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Choose between two candidates for the vertex following current: the one the other lies to the left of, or the farther one
+     * if they are collinear with current.
+     *
+     * @return the better candidate, or the other one if either is -1.
+     */
+    static int better(double[] xs, double[] ys, int current, int a, int b) {
+        if (a < 0 || b < 0) {
+            return a < 0 ? b : a;
+        }
+        double cx = xs[current];
+        double cy = ys[current];
+        int turn = Geometry.orientation(cx, cy, xs[a], ys[a], xs[b], ys[b]);
+        if (turn < 0 || (turn == 0
+                && Geometry.distanceSquared(cx, cy, xs[b], ys[b]) > Geometry.distanceSquared(cx, cy, xs[a], ys[a]))) {
+            return b;
+        }
+        return a;
+    }
+}
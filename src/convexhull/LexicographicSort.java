@@ -0,0 +1,185 @@
+package convexhull;
+
+import java.util.Arrays;
+
+/**
+ * LexicographicSort.java
+ * <p/>
+ * Sorts point indices by x coordinate, breaking ties by y coordinate. Large inputs are sorted with Arrays.parallelSort on primitive
+ * long keys that pack each point's x coordinate, rounded to a float, above its index. Rounding to float never reorders two
+ * points, it can only make them tie, so each run of tied keys is then finished with an exact merge sort.
+ */
+public final class LexicographicSort {
+
+    /**
+     * Inputs at least this large use the parallel sort.
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    /**
+     * Ranges at most this long are insertion sorted.
+     */
+    private static final int INSERTION_THRESHOLD = 16;
+
+    private LexicographicSort() {
+    }
+
+    /**
+     * Get the indices of the first n points in lexicographic order.
+     *
+     * @param xs the x coordinates.
+     * @param ys the y coordinates.
+     * @param n  the number of points.
+     * @return the sorted indices.
+     */
+    public static int[] sort(double[] xs, double[] ys, int n) {
+        int[] order = new int[n];
+        if (n < PARALLEL_THRESHOLD) {
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            sort(order, 0, n, xs, ys);
+            return order;
+        }
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = ((long) sortableBits(xs[i]) << 32) | i;
+        }
+        Arrays.parallelSort(keys);
+        for (int i = 0; i < n; i++) {
+            order[i] = (int) keys[i];
+        }
+        int runStart = 0;
+        for (int i = 1; i <= n; i++) {
+            if (i == n || (keys[i] >>> 32) != (keys[runStart] >>> 32)) {
+                if (i - runStart > 1) {
+                    sort(order, runStart, i, xs, ys);
+                }
+                runStart = i;
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Get the indices of the first n integer points in lexicographic order. Each index is packed below its x coordinate into a
+     * long, so the sort is a primitive sort, and each run of equal x coordinates is sorted again the same way by y.
+     *
+     * @param xs the x coordinates.
+     * @param ys the y coordinates.
+     * @param n  the number of points.
+     * @return the sorted indices.
+     */
+    public static int[] sort(int[] xs, int[] ys, int n) {
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = ((long) xs[i] << 32) | i;
+        }
+        sortKeys(keys, 0, n);
+        int runStart = 0;
+        for (int i = 1; i <= n; i++) {
+            if (i == n || (keys[i] >> 32) != (keys[runStart] >> 32)) {
+                if (i - runStart > 1) {
+                    for (int k = runStart; k < i; k++) {
+                        int index = (int) keys[k];
+                        keys[k] = ((long) ys[index] << 32) | index;
+                    }
+                    sortKeys(keys, runStart, i);
+                }
+                runStart = i;
+            }
+        }
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
+    private static void sortKeys(long[] keys, int from, int to) {
+        if (to - from >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSort(keys, from, to);
+        } else {
+            Arrays.sort(keys, from, to);
+        }
+    }
+
+    /**
+     * Sort a range of indices lexicographically with a merge sort.
+     *
+     * @param indices the indices to sort.
+     * @param from    the first position to sort, inclusive.
+     * @param to      the last position to sort, exclusive.
+     * @param xs      the x coordinates.
+     * @param ys      the y coordinates.
+     */
+    public static void sort(int[] indices, int from, int to, double[] xs, double[] ys) {
+        if (to - from < 2) {
+            return;
+        }
+        int[] aux = new int[to - from];
+        sort(indices, from, to, aux, xs, ys);
+    }
+
+    private static void sort(int[] indices, int from, int to, int[] aux, double[] xs, double[] ys) {
+        if (to - from <= INSERTION_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int toInsert = indices[i];
+                int j = i - 1;
+                while (j >= from && compare(indices[j], toInsert, xs, ys) > 0) {
+                    indices[j + 1] = indices[j];
+                    j--;
+                }
+                indices[j + 1] = toInsert;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sort(indices, from, mid, aux, xs, ys);
+        sort(indices, mid, to, aux, xs, ys);
+        if (compare(indices[mid - 1], indices[mid], xs, ys) <= 0) {
+            return;
+        }
+        System.arraycopy(indices, from, aux, 0, mid - from);
+        int i = 0;
+        int leftEnd = mid - from;
+        int j = mid;
+        int k = from;
+        while (i < leftEnd && j < to) {
+            if (compare(indices[j], aux[i], xs, ys) < 0) {
+                indices[k++] = indices[j++];
+            } else {
+                indices[k++] = aux[i++];
+            }
+        }
+        while (i < leftEnd) {
+            indices[k++] = aux[i++];
+        }
+    }
+
+    /**
+     * Compare two points by x coordinate and then by y coordinate.
+     */
+    public static int compare(int a, int b, double[] xs, double[] ys) {
+        HullStats.comparison();
+        if (xs[a] < xs[b]) {
+            return -1;
+        } else if (xs[a] > xs[b]) {
+            return 1;
+        } else if (ys[a] < ys[b]) {
+            return -1;
+        } else if (ys[a] > ys[b]) {
+            return 1;
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * Get the bits of a coordinate rounded to a float, arranged so that they order like the coordinate when compared as ints.
+     */
+    private static int sortableBits(double x) {
+        int bits = Float.floatToIntBits((float) x + 0.0f);
+        return bits ^ ((bits >> 31) & 0x7fffffff);
+    }
+}
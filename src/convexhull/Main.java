@@ -26,12 +26,14 @@ public class Main {
         } catch (NumberFormatException nfe) {
             System.exit(0);
         }
-        Object[] possibleValues = {"Graham's Scan", "Jarvis's March"};
+        Object[] possibleValues = {"Graham's Scan", "Jarvis's March", "Chan's Algorithm"};
         Object selectedValue = JOptionPane
                 .showInputDialog(null, "Choose one", "Input", JOptionPane.PLAIN_MESSAGE, null, possibleValues, possibleValues[0]);
         if (selectedValue.equals("Graham's Scan")) {
         } else if (selectedValue.equals("Jarvis's March")) {
             alg = new JarvisMarch();
+        } else if (selectedValue.equals("Chan's Algorithm")) {
+            alg = new ChansAlgorithm();
         } else {
             System.exit(0);
         }
@@ -40,6 +42,7 @@ public class Main {
         pane.setPenRadius(PEN_RADIUS);
         pane.setPenColor(PEN_COLOR);
         graph.drawVertices();
+        graph.enableViewControls();
         alg.runAlgorithm();
     }
 }
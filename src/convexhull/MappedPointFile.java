@@ -0,0 +1,211 @@
+package convexhull;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * MappedPointFile.java
+ * <p/>
+ * A file of points too large to hold in memory. The file is packed pairs of little-endian doubles, x then y, with no header. The
+ * hull is computed by memory-mapping the file one chunk at a time, computing the hull of each chunk on a fork/join pool and
+ * merging the chunk hulls pairwise with HullMerge, so only the chunks being worked on and their hulls are ever on the heap. The
+ * operating system reads the file ahead as it is mapped, so for large files the computation is bounded by the disk.
+ * <p/>
+ * FileChannel.map has no explicit unmap: a mapping is released only when its buffer is garbage collected. Each chunk is mapped
+ * on its own, copied out and its buffer dropped before the chunk's hull is computed, so no mapping outlives the read of its
+ * chunk. Mappings awaiting collection hold address space but no heap, and their pages are clean file pages that the operating
+ * system can reclaim at any time.
+ */
+public class MappedPointFile implements Closeable {
+
+    /**
+     * The number of bytes per point.
+     */
+    public static final int POINT_BYTES = 16;
+
+    /**
+     * The default number of points mapped and hulled at a time: 16 MB of file.
+     */
+    public static final int DEFAULT_CHUNK_POINTS = 1 << 20;
+
+    private final RandomAccessFile file;
+
+    private final FileChannel channel;
+
+    private final long size;
+
+    private final int chunkPoints;
+
+    /**
+     * Constructor
+     *
+     * @param file the file to read.
+     * @throws IOException if the file cannot be opened or is not a whole number of points.
+     */
+    public MappedPointFile(File file) throws IOException {
+        this(file, DEFAULT_CHUNK_POINTS);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param file        the file to read.
+     * @param chunkPoints the number of points to map and hull at a time.
+     * @throws IOException if the file cannot be opened or is not a whole number of points.
+     */
+    public MappedPointFile(File file, int chunkPoints) throws IOException {
+        if (chunkPoints < 1) {
+            throw new IllegalArgumentException("Illegal chunk size: " + chunkPoints);
+        }
+        this.file = new RandomAccessFile(file, "r");
+        this.channel = this.file.getChannel();
+        long bytes = channel.size();
+        if (bytes % POINT_BYTES != 0) {
+            this.file.close();
+            throw new IOException(file + " is " + bytes + " bytes, which is not a whole number of points");
+        }
+        this.size = bytes / POINT_BYTES;
+        this.chunkPoints = chunkPoints;
+    }
+
+    /**
+     * Get the number of points in the file.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Compute the hull on the common pool.
+     *
+     * @return the hull vertices in counter-clockwise order.
+     * @throws IOException if the file cannot be read.
+     */
+    public PointSet computeHull() throws IOException {
+        return computeHull(new AklToussaintFilter(new MonotoneChainEngine()), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Compute the hull.
+     *
+     * @param engine the engine to compute the hull of each chunk.
+     * @param pool   the pool to run chunks in.
+     * @return the hull vertices in counter-clockwise order; starting where the engine starts if the file is one chunk, otherwise
+     * with the point with the smallest x (and then y) coordinate.
+     * @throws IOException if the file cannot be read.
+     */
+    public PointSet computeHull(HullEngine engine, ForkJoinPool pool) throws IOException {
+        long chunks = (size + chunkPoints - 1) / chunkPoints;
+        if (chunks == 0) {
+            return new PointSet();
+        }
+        try {
+            return pool.invoke(new Chunks(engine, 0, chunks));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Read the points of one chunk. The chunk is mapped for the length of this call only; nothing keeps a reference to the
+     * mapping once it returns, so the mapping can be released at the next collection.
+     *
+     * @param chunk the chunk number.
+     * @return the chunk's points.
+     */
+    PointSet read(long chunk) throws IOException {
+        long first = chunk * chunkPoints;
+        int count = (int) Math.min(chunkPoints, size - first);
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        DoubleBuffer coordinates = channel.map(FileChannel.MapMode.READ_ONLY, first * POINT_BYTES, (long) count * POINT_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        for (int i = 0; i < count; i++) {
+            xs[i] = coordinates.get(2 * i);
+            ys[i] = coordinates.get(2 * i + 1);
+        }
+        return new PointSet(xs, ys);
+    }
+
+    public void close() throws IOException {
+        file.close();
+    }
+
+    /**
+     * Write points in the format this class reads.
+     *
+     * @param file   the file to write, replacing anything already there.
+     * @param points the points.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(File file, PointSet points) throws IOException {
+        RandomAccessFile out = new RandomAccessFile(file, "rw");
+        try {
+            FileChannel channel = out.getChannel();
+            channel.truncate(0);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < points.size(); i++) {
+                if (buffer.remaining() < POINT_BYTES) {
+                    drain(channel, buffer);
+                }
+                buffer.putDouble(points.getX(i));
+                buffer.putDouble(points.getY(i));
+            }
+            drain(channel, buffer);
+        } finally {
+            out.close();
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Computes the hull of a range of chunks by splitting it in half until one chunk is left.
+     */
+    private class Chunks extends RecursiveTask<PointSet> {
+
+        private final HullEngine engine;
+
+        private final long from;
+
+        private final long to;
+
+        Chunks(HullEngine engine, long from, long to) {
+            this.engine = engine;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected PointSet compute() {
+            if (to - from == 1) {
+                try {
+                    PointSet points = read(from);
+                    return points.subset(engine.computeHull(points));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            long middle = (from + to) >>> 1;
+            Chunks right = new Chunks(engine, middle, to);
+            right.fork();
+            PointSet left = new Chunks(engine, from, middle).compute();
+            return HullMerge.merge(left, right.join());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package convexhull;
+
+import java.util.Arrays;
+
+/**
+ * MonotoneChainEngine.java
+ * <p/>
+ * Andrew's Monotone Chain. Sorts the points by x and then y, and builds the lower and upper chains with a stack of indices. There
+ * is no angular sort and no pivot to special case. The hull starts at the point with the smallest x (and then y) coordinate.
+ * Integer points are sorted with primitive keys and tested with long arithmetic, without converting them to doubles.
+ */
+public class MonotoneChainEngine extends HullEngine {
+
+    @Override
+    public int[] computeHull(double[] xs, double[] ys, int n, HullListener listener) {
+        checkPoints(xs, ys, n);
+        HullStats.PhaseEvent start = HullStats.startPhase();
+        int[] order = LexicographicSort.sort(xs, ys, n);
+        HullStats.endPhase(HullStats.Phase.SORT, start, n);
+        start = HullStats.startPhase();
+        int[] hull = new int[2 * n + 1];
+        int size = chain(xs, ys, order, 0, n, hull, listener);
+        HullStats.endPhase(HullStats.Phase.SCAN, start, n);
+        return Arrays.copyOf(hull, size);
+    }
+
+    @Override
+    public int[] computeHull(int[] xs, int[] ys, int n) {
+        checkPoints(xs, ys, n);
+        HullStats.PhaseEvent start = HullStats.startPhase();
+        int[] order = LexicographicSort.sort(xs, ys, n);
+        HullStats.endPhase(HullStats.Phase.SORT, start, n);
+        start = HullStats.startPhase();
+        int[] hull = new int[2 * n + 1];
+        int size = chain(coordinates(xs, ys), order, 0, n, hull, null);
+        HullStats.endPhase(HullStats.Phase.SCAN, start, n);
+        return Arrays.copyOf(hull, size);
+    }
+
+    /**
+     * Build the hull of a range of lexicographically sorted points.
+     *
+     * @param xs       the x coordinates.
+     * @param ys       the y coordinates.
+     * @param order    the sorted indices.
+     * @param from     the first sorted position to use, inclusive.
+     * @param to       the last sorted position to use, exclusive.
+     * @param hull     the stack to build the hull in, with room for 2 * (to - from) + 1 indices.
+     * @param listener the listener to report steps to, or null.
+     * @return the number of hull vertices at the start of the stack.
+     */
+    static int chain(double[] xs, double[] ys, int[] order, int from, int to, int[] hull, HullListener listener) {
+        return chain(coordinates(xs, ys), order, from, to, hull, listener);
+    }
+
+    /**
+     * Build the hull of a range of lexicographically sorted points, whatever their coordinates are.
+     *
+     * @see #chain(double[], double[], int[], int, int, int[], HullListener)
+     */
+    static int chain(Coordinates points, int[] order, int from, int to, int[] hull, HullListener listener) {
+        int size = 0;
+        for (int k = from; k < to; k++) {
+            size = push(points, hull, size, 2, order[k], listener);
+        }
+        int lowerSize = size + 1;
+        for (int k = to - 2; k >= from; k--) {
+            size = push(points, hull, size, lowerSize, order[k], listener);
+        }
+        if (size > 1) {
+            size--;
+        }
+        if (size == 2 && points.same(hull[0], hull[1])) {
+            size = 1;
+        }
+        return size;
+    }
+
+    /**
+     * Pop every point that would not make a left turn with i, then push i.
+     *
+     * @param minSize the stack is never popped below minSize - 1 points.
+     * @return the new stack size.
+     */
+    private static int push(Coordinates points, int[] hull, int size, int minSize, int i, HullListener listener) {
+        while (size >= minSize && points.orientation(hull[size - 2], hull[size - 1], i) <= 0) {
+            size--;
+            HullStats.pop();
+            if (listener != null) {
+                listener.popped(hull[size]);
+            }
+        }
+        hull[size++] = i;
+        HullStats.push();
+        if (listener != null) {
+            listener.pushed(i);
+        }
+        return size;
+    }
+
+    /**
+     * View double coordinate arrays as Coordinates.
+     */
+    static Coordinates coordinates(final double[] xs, final double[] ys) {
+        return new Coordinates() {
+            public int orientation(int a, int b, int c) {
+                return Geometry.orientation(xs[a], ys[a], xs[b], ys[b], xs[c], ys[c]);
+            }
+
+            public boolean same(int a, int b) {
+                return xs[a] == xs[b] && ys[a] == ys[b];
+            }
+        };
+    }
+
+    /**
+     * View integer coordinate arrays as Coordinates, tested with long arithmetic.
+     */
+    static Coordinates coordinates(final int[] xs, final int[] ys) {
+        return new Coordinates() {
+            public int orientation(int a, int b, int c) {
+                return Geometry.orientation(xs[a], ys[a], xs[b], ys[b], xs[c], ys[c]);
+            }
+
+            public boolean same(int a, int b) {
+                return xs[a] == xs[b] && ys[a] == ys[b];
+            }
+        };
+    }
+
+    /**
+     * The points a chain is built over, seen through their indices, so that one chain builder serves every kind of coordinate.
+     */
+    interface Coordinates {
+
+        /**
+         * Get the orientation of points a, b, c: positive if they turn left, negative if right, 0 if they are collinear.
+         */
+        int orientation(int a, int b, int c);
+
+        /**
+         * Tell whether points a and b coincide.
+         */
+        boolean same(int a, int b);
+    }
+}
@@ -0,0 +1,159 @@
+package convexhull;
+
+/**
+ * OrientationKernels.java
+ * <p/>
+ * Batch versions of the orientation test and of the reductions around it, for loops that test many points against the same
+ * line or look for an extreme point. When the JVM runs with the jdk.incubator.vector module (--add-modules jdk.incubator.vector)
+ * the kernels over contiguous ranges run in VectorKernels a machine vector of points at a time; otherwise, or with
+ * -Dconvexhull.vector=false, they run the scalar loops here, which the JIT does not vectorize since each is a reduction. Both give
+ * the same results. Instead of signs the orientation kernels produce margins: the determinant less Shewchuk's bound on its
+ * rounding error, so that a positive margin can be trusted. Whatever a kernel leaves undecided is for the caller to settle with
+ * Geometry.orientation, which is exact.
+ */
+public final class OrientationKernels {
+
+    /**
+     * A good number of points to process at a time: enough to fill the vector units, few enough to stay in the L1 cache.
+     */
+    public static final int BLOCK_SIZE = 256;
+
+    /**
+     * Added to every error bound to cover the products in the determinant losing precision to underflow, which the relative
+     * bound does not.
+     */
+    private static final double UNDERFLOW_BOUND = 2 * Geometry.ORIENTATION_UNDERFLOW;
+
+    /**
+     * Whether the kernels run on the Vector API.
+     */
+    public static final boolean VECTORIZED = !"false".equals(System.getProperty("convexhull.vector"))
+            && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private OrientationKernels() {
+    }
+
+    /**
+     * Find how far the points in a range are from all being strictly to the left of a->b.
+     *
+     * @param xs   the x coordinates.
+     * @param ys   the y coordinates.
+     * @param from the first point, inclusive.
+     * @param to   the last point, exclusive.
+     * @return the smallest determinant less its error bound; if positive, every point is strictly to the left of a->b.
+     */
+    public static double leftMargin(double[] xs, double[] ys, int from, int to, double ax, double ay, double bx, double by) {
+        HullStats.orientationTests(to - from);
+        if (VECTORIZED) {
+            return VectorKernels.leftMargin(xs, ys, from, to, ax, ay, bx, by);
+        }
+        return leftMarginScalar(xs, ys, from, to, ax, ay, bx, by);
+    }
+
+    /**
+     * The scalar version of leftMargin.
+     */
+    static double leftMarginScalar(double[] xs, double[] ys, int from, int to, double ax, double ay, double bx, double by) {
+        double margin = Double.POSITIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            double left = (ax - xs[i]) * (by - ys[i]);
+            double right = (ay - ys[i]) * (bx - xs[i]);
+            double bound = Geometry.ORIENTATION_ERROR_BOUND * (Math.abs(left) + Math.abs(right)) + UNDERFLOW_BOUND;
+            double m = left - right - bound;
+            // A plain comparison rather than Math.min, whose NaN and signed zero handling costs extra instructions.
+            margin = m < margin ? m : margin;
+        }
+        return margin;
+    }
+
+    /**
+     * Find the point farthest to the right of p->q. Of several points equally far from the line, only the ends of the run are
+     * hull vertices; this takes the one nearest q, and of points that coincide, the first. This kernel stays scalar: its points
+     * come through an index array, and a gathered vector load measured twice as slow as the scalar loop.
+     *
+     * @param points the point indices.
+     * @param from   the first position in points, inclusive.
+     * @param to     the last position in points, exclusive; must be greater than from.
+     * @return the index of the farthest point.
+     */
+    public static int farthestRight(double[] xs, double[] ys, int[] points, int from, int to, double px, double py, double qx,
+                                    double qy) {
+        int farthest = points[from];
+        double distance = -Geometry.crossProduct(px, py, qx, qy, xs[farthest], ys[farthest]);
+        for (int k = from + 1; k < to; k++) {
+            int i = points[k];
+            double d = -Geometry.crossProduct(px, py, qx, qy, xs[i], ys[i]);
+            if (d > distance
+                    || (d == distance && (xs[i] - xs[farthest]) * (qx - px) + (ys[i] - ys[farthest]) * (qy - py) > 0)) {
+                farthest = i;
+                distance = d;
+            }
+        }
+        return farthest;
+    }
+
+    /**
+     * Find the lowest point in a range, breaking ties by the smallest x coordinate and then by the first index.
+     *
+     * @param from the first point, inclusive.
+     * @param to   the last point, exclusive; must be greater than from.
+     * @return the index of the lowest point.
+     */
+    public static int lowest(double[] xs, double[] ys, int from, int to) {
+        return minimum(ys, xs, from, to, 1);
+    }
+
+    /**
+     * Find the lexicographically smallest point in a range, the first of them if several coincide.
+     *
+     * @param from the first point, inclusive.
+     * @param to   the last point, exclusive; must be greater than from.
+     * @return the index of the leftmost point.
+     */
+    public static int leftmost(double[] xs, double[] ys, int from, int to) {
+        return minimum(xs, ys, from, to, 1);
+    }
+
+    /**
+     * Find the lexicographically largest point in a range, the first of them if several coincide.
+     *
+     * @param from the first point, inclusive.
+     * @param to   the last point, exclusive; must be greater than from.
+     * @return the index of the rightmost point.
+     */
+    public static int rightmost(double[] xs, double[] ys, int from, int to) {
+        return minimum(xs, ys, from, to, -1);
+    }
+
+    /**
+     * Find the first point with the smallest sign * major coordinate, and of those the smallest sign * minor coordinate.
+     */
+    private static int minimum(double[] major, double[] minor, int from, int to, double sign) {
+        if (VECTORIZED) {
+            return VectorKernels.minimum(major, minor, from, to, sign);
+        }
+        return minimumScalar(major, minor, from, to, sign);
+    }
+
+    /**
+     * The scalar version of minimum.
+     */
+    static int minimumScalar(double[] major, double[] minor, int from, int to, double sign) {
+        int best = from;
+        for (int i = from + 1; i < to; i++) {
+            if (precedes(major, minor, i, best, sign)) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Whether point i comes strictly before point j in the order minimum uses.
+     */
+    static boolean precedes(double[] major, double[] minor, int i, int j, double sign) {
+        double a = sign * major[i];
+        double b = sign * major[j];
+        return a < b || (a == b && sign * minor[i] < sign * minor[j]);
+    }
+}
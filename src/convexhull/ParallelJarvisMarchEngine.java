@@ -0,0 +1,102 @@
+package convexhull;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * ParallelJarvisMarchEngine.java
+ * <p/>
+ * Jarvis's March with each step run on a fork/join pool. Choosing the next vertex is a reduction: every slice of the points picks
+ * its best candidate, and the slices' candidates are compared the same way, which gives the same vertex as a sequential scan
+ * because the points all lie on one side of the current vertex. Each step costs one pass over the points shared among the threads,
+ * so inputs with large hulls use every core. The hull is the same as JarvisMarchEngine's.
+ */
+public class ParallelJarvisMarchEngine extends JarvisMarchEngine {
+
+    /**
+     * Slices are never smaller than this.
+     */
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 1 << 14;
+
+    private final ForkJoinPool pool;
+
+    private final int sequentialThreshold;
+
+    /**
+     * Constructor using the common pool.
+     */
+    public ParallelJarvisMarchEngine() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param pool                the pool to run tasks in.
+     * @param sequentialThreshold slices smaller than this are not split further.
+     */
+    public ParallelJarvisMarchEngine(ForkJoinPool pool, int sequentialThreshold) {
+        if (sequentialThreshold < 1) {
+            throw new IllegalArgumentException("Illegal threshold: " + sequentialThreshold);
+        }
+        this.pool = pool;
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    /**
+     * Find the vertex following current. With a listener the scan runs on the calling thread, so that the listener is only ever
+     * called from one thread, and it is told of candidates in the same order as by JarvisMarchEngine.
+     */
+    @Override
+    int nextVertex(double[] xs, double[] ys, int n, int current, HullListener listener) {
+        if (listener != null || n <= sequentialThreshold) {
+            return super.nextVertex(xs, ys, n, current, listener);
+        }
+        int slice = Math.max(sequentialThreshold, n / pool.getParallelism() + 1);
+        return pool.invoke(new Candidates(xs, ys, 0, n, current, slice));
+    }
+
+    /**
+     * Finds the best candidate in a range of points, splitting it in half while it is larger than a slice.
+     */
+    private static class Candidates extends RecursiveTask<Integer> {
+
+        private final double[] xs;
+
+        private final double[] ys;
+
+        private final int from;
+
+        private final int to;
+
+        private final int current;
+
+        private final int slice;
+
+        Candidates(double[] xs, double[] ys, int from, int to, int current, int slice) {
+            this.xs = xs;
+            this.ys = ys;
+            this.from = from;
+            this.to = to;
+            this.current = current;
+            this.slice = slice;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= slice) {
+                return bestCandidate(xs, ys, from, to, current, null);
+            }
+            // Split on a block boundary where there is one, so the kernels see whole blocks.
+            int middle = from + ((to - from) / 2 + OrientationKernels.BLOCK_SIZE - 1) / OrientationKernels.BLOCK_SIZE
+                    * OrientationKernels.BLOCK_SIZE;
+            if (middle >= to) {
+                middle = (from + to) >>> 1;
+            }
+            Candidates right = new Candidates(xs, ys, middle, to, current, slice);
+            right.fork();
+            int left = new Candidates(xs, ys, from, middle, current, slice).compute();
+            return better(xs, ys, current, left, right.join());
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package convexhull;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * PointSet.java
+ * <p/>
+ * A compact, growable set of points stored as parallel arrays of x and y coordinates, 16 bytes a point. Labels are not stored;
+ * they are made from the point's index when asked for. Not synchronized.
+ */
+public class PointSet {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private double[] xs;
+
+    private double[] ys;
+
+    private int size;
+
+    /**
+     * Constructor.
+     */
+    public PointSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param capacity the number of points to make room for.
+     */
+    public PointSet(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        xs = new double[capacity];
+        ys = new double[capacity];
+    }
+
+    /**
+     * Constructor wrapping existing coordinate arrays without copying them.
+     *
+     * @param xs the x coordinates.
+     * @param ys the y coordinates.
+     */
+    public PointSet(double[] xs, double[] ys) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("Coordinate arrays differ in length");
+        }
+        this.xs = xs;
+        this.ys = ys;
+        this.size = xs.length;
+    }
+
+    /**
+     * Copy a list of vertices into a new point set.
+     *
+     * @param vertices the vertices to copy.
+     * @return the point set.
+     */
+    public static PointSet fromVertices(List<Vertex> vertices) {
+        PointSet points = new PointSet(vertices.size());
+        for (int i = 0; i < vertices.size(); i++) {
+            Vertex v = vertices.get(i);
+            points.add(v.getX(), v.getY());
+        }
+        return points;
+    }
+
+    /**
+     * Add a point.
+     *
+     * @param x the x coordinate.
+     * @param y the y coordinate.
+     * @return the index of the new point.
+     */
+    public int add(double x, double y) {
+        if (size == xs.length) {
+            int capacity = Math.max(DEFAULT_CAPACITY, xs.length + (xs.length >> 1));
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        return size++;
+    }
+
+    /**
+     * Move a point.
+     *
+     * @param i the index of the point.
+     * @param x the new x coordinate.
+     * @param y the new y coordinate.
+     */
+    public void set(int i, double x, double y) {
+        checkIndex(i);
+        xs[i] = x;
+        ys[i] = y;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double getX(int i) {
+        checkIndex(i);
+        return xs[i];
+    }
+
+    public double getY(int i) {
+        checkIndex(i);
+        return ys[i];
+    }
+
+    /**
+     * Get the label of a point, P0 through Pn-1.
+     *
+     * @param i the index of the point.
+     * @return the label.
+     */
+    public String getLabel(int i) {
+        checkIndex(i);
+        return "P" + i;
+    }
+
+    /**
+     * Get the backing array of x coordinates. Only the first size() entries are points.
+     *
+     * @return the x coordinates.
+     */
+    public double[] getXs() {
+        return xs;
+    }
+
+    /**
+     * Get the backing array of y coordinates. Only the first size() entries are points.
+     *
+     * @return the y coordinates.
+     */
+    public double[] getYs() {
+        return ys;
+    }
+
+    /**
+     * Copy some of the points, in the given order, into a new point set.
+     *
+     * @param indices the indices of the points to copy.
+     * @return the new point set.
+     */
+    public PointSet subset(int[] indices) {
+        PointSet points = new PointSet(indices.length);
+        for (int i = 0; i < indices.length; i++) {
+            points.add(getX(indices[i]), getY(indices[i]));
+        }
+        return points;
+    }
+
+    /**
+     * Make a vertex out of a point, named by its label.
+     *
+     * @param i the index of the point.
+     * @return the vertex.
+     */
+    public Vertex toVertex(int i) {
+        return new Vertex(getX(i), getY(i), getLabel(i));
+    }
+
+    private void checkIndex(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+        }
+    }
+}
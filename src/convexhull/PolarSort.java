@@ -0,0 +1,119 @@
+package convexhull;
+
+/**
+ * PolarSort.java
+ * <p/>
+ * Sorts point indices by polar angle around a pivot using only orientation tests, so no trigonometry is involved. The pivot must
+ * be a lowest point; points level with it sort first when they are to its right and last when they are to its left. Points at the
+ * same angle are ordered nearest first. This is a merge sort on primitive indices, so it runs in O(n log n) and is stable.
+ */
+public final class PolarSort {
+
+    /**
+     * Ranges at most this long are insertion sorted.
+     */
+    private static final int INSERTION_THRESHOLD = 16;
+
+    private PolarSort() {
+    }
+
+    /**
+     * Sort a range of indices counter-clockwise around the pivot.
+     *
+     * @param indices the indices to sort.
+     * @param from    the first position to sort, inclusive.
+     * @param to      the last position to sort, exclusive.
+     * @param xs      the x coordinates.
+     * @param ys      the y coordinates.
+     * @param px      the x coordinate of the pivot.
+     * @param py      the y coordinate of the pivot.
+     */
+    public static void sort(int[] indices, int from, int to, double[] xs, double[] ys, double px, double py) {
+        if (to - from < 2) {
+            return;
+        }
+        mergeSort(indices, from, to, new int[(to - from) / 2 + 1], xs, ys, px, py);
+    }
+
+    /**
+     * Sort a range of indices counter-clockwise around the pivot without allocating.
+     *
+     * @param aux the merge buffer, holding at least (to - from) / 2 + 1 elements.
+     * @see #sort(int[], int, int, double[], double[], double, double)
+     */
+    public static void sort(int[] indices, int from, int to, int[] aux, double[] xs, double[] ys, double px, double py) {
+        if (to - from < 2) {
+            return;
+        }
+        if (aux.length < (to - from) / 2 + 1) {
+            throw new IllegalArgumentException("Merge buffer holds " + aux.length + " of " + ((to - from) / 2 + 1) + " elements");
+        }
+        mergeSort(indices, from, to, aux, xs, ys, px, py);
+    }
+
+    /**
+     * Sort a range of indices, using aux as the merge buffer for the left half of each merge.
+     */
+    private static void mergeSort(int[] indices, int from, int to, int[] aux, double[] xs, double[] ys, double px, double py) {
+        if (to - from <= INSERTION_THRESHOLD) {
+            insertionSort(indices, from, to, xs, ys, px, py);
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(indices, from, mid, aux, xs, ys, px, py);
+        mergeSort(indices, mid, to, aux, xs, ys, px, py);
+        if (compare(indices[mid - 1], indices[mid], xs, ys, px, py) <= 0) {
+            return;
+        }
+        System.arraycopy(indices, from, aux, 0, mid - from);
+        int i = 0;
+        int leftEnd = mid - from;
+        int j = mid;
+        int k = from;
+        while (i < leftEnd && j < to) {
+            if (compare(indices[j], aux[i], xs, ys, px, py) < 0) {
+                indices[k++] = indices[j++];
+            } else {
+                indices[k++] = aux[i++];
+            }
+        }
+        while (i < leftEnd) {
+            indices[k++] = aux[i++];
+        }
+    }
+
+    private static void insertionSort(int[] indices, int from, int to, double[] xs, double[] ys, double px, double py) {
+        for (int i = from + 1; i < to; i++) {
+            int toInsert = indices[i];
+            int j = i - 1;
+            while (j >= from && compare(indices[j], toInsert, xs, ys, px, py) > 0) {
+                indices[j + 1] = indices[j];
+                j--;
+            }
+            indices[j + 1] = toInsert;
+        }
+    }
+
+    /**
+     * Compare two points by polar angle around the pivot, breaking ties by distance.
+     *
+     * @return a negative number if a comes first, a positive number if b comes first, 0 if they are at the same place.
+     */
+    public static int compare(int a, int b, double[] xs, double[] ys, double px, double py) {
+        HullStats.comparison();
+        double ax = xs[a];
+        double ay = ys[a];
+        double bx = xs[b];
+        double by = ys[b];
+        int halfA = (ay == py && ax < px) ? 1 : 0;
+        int halfB = (by == py && bx < px) ? 1 : 0;
+        if (halfA != halfB) {
+            return halfA - halfB;
+        }
+        int turn = Geometry.orientation(px, py, ax, ay, bx, by);
+        if (turn != 0) {
+            return -turn;
+        }
+        return Double.compare(Geometry.distanceSquared(px, py, ax, ay), Geometry.distanceSquared(px, py, bx, by));
+    }
+}
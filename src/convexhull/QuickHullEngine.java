@@ -0,0 +1,230 @@
+package convexhull;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * QuickHullEngine.java
+ * <p/>
+ * QuickHull on a fork/join pool. Splits the points by the line through the leftmost and rightmost points, then for each side finds
+ * the point farthest from the line and recurses on the points outside the two new lines. Subsets larger than the sequential
+ * threshold are forked as separate tasks. Partitioning is done in place on one array of indices, so sibling tasks never share
+ * indices. The hull starts at the point with the smallest x (and then y) coordinate.
+ */
+public class QuickHullEngine extends HullEngine {
+
+    /**
+     * Subsets smaller than this are finished on the current thread.
+     */
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 1 << 13;
+
+    private final ForkJoinPool pool;
+
+    private final int sequentialThreshold;
+
+    /**
+     * Constructor using the common pool.
+     */
+    public QuickHullEngine() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param pool                the pool to run tasks in.
+     * @param sequentialThreshold subsets smaller than this are not split into further tasks.
+     */
+    public QuickHullEngine(ForkJoinPool pool, int sequentialThreshold) {
+        if (sequentialThreshold < 1) {
+            throw new IllegalArgumentException("Illegal threshold: " + sequentialThreshold);
+        }
+        this.pool = pool;
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    /**
+     * Compute the hull. With a listener the whole computation runs on the calling thread, so that the listener is only ever called
+     * from one thread.
+     */
+    @Override
+    public int[] computeHull(double[] xs, double[] ys, int n, HullListener listener) {
+        checkPoints(xs, ys, n);
+        if (n == 0) {
+            return new int[0];
+        }
+        int a = OrientationKernels.leftmost(xs, ys, 0, n);
+        int b = OrientationKernels.rightmost(xs, ys, 0, n);
+        if (xs[a] == xs[b] && ys[a] == ys[b]) {
+            return new int[]{a};
+        }
+        int[] points = new int[n];
+        for (int i = 0; i < n; i++) {
+            points[i] = i;
+        }
+        HullStats.PhaseEvent start = HullStats.startPhase();
+        int lower = partition(xs, ys, points, 0, n, a, b);
+        int upper = partition(xs, ys, points, lower, n, b, a);
+
+        int threshold = listener == null ? sequentialThreshold : Integer.MAX_VALUE;
+        final Side below = new Side(xs, ys, points, 0, lower, a, b, threshold, listener);
+        final Side above = new Side(xs, ys, points, lower, upper, b, a, threshold, listener);
+        int[] lowerChain;
+        int[] upperChain;
+        if (listener == null && n >= sequentialThreshold) {
+            int[][] chains = pool.invoke(new RecursiveTask<int[][]>() {
+                @Override
+                protected int[][] compute() {
+                    above.fork();
+                    int[] lowerChain = below.compute();
+                    return new int[][]{lowerChain, above.join()};
+                }
+            });
+            lowerChain = chains[0];
+            upperChain = chains[1];
+        } else {
+            lowerChain = below.compute();
+            upperChain = above.compute();
+        }
+
+        int[] hull = new int[lowerChain.length + upperChain.length + 2];
+        hull[0] = a;
+        System.arraycopy(lowerChain, 0, hull, 1, lowerChain.length);
+        hull[lowerChain.length + 1] = b;
+        System.arraycopy(upperChain, 0, hull, lowerChain.length + 2, upperChain.length);
+        if (!isConvex(xs, ys, hull)) {
+            hull = repair(xs, ys, hull);
+        }
+        HullStats.endPhase(HullStats.Phase.SCAN, start, n);
+        if (listener != null) {
+            for (int i = 0; i < hull.length; i++) {
+                listener.edgeAdded(hull[i], hull[(i + 1) % hull.length]);
+            }
+        }
+        return hull;
+    }
+
+    /**
+     * Whether every turn of a hull is strictly to the left.
+     */
+    private static boolean isConvex(double[] xs, double[] ys, int[] hull) {
+        for (int k = 0; k < hull.length && hull.length > 2; k++) {
+            int a = hull[k];
+            int b = hull[(k + 1) % hull.length];
+            int c = hull[(k + 2) % hull.length];
+            if (Geometry.orientation(xs[a], ys[a], xs[b], ys[b], xs[c], ys[c]) <= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rebuild a hull with the monotone chain. The farthest point from a line is found from rounded distances, so when several
+     * points are within rounding error of the farthest one that is not a hull vertex may be picked. Such a point is never one
+     * that hides a hull vertex, so the hull found still holds every hull vertex and only needs the extra points removed.
+     */
+    private static int[] repair(double[] xs, double[] ys, int[] hull) {
+        int[] order = hull.clone();
+        LexicographicSort.sort(order, 0, order.length, xs, ys);
+        int[] repaired = new int[2 * order.length + 1];
+        int size = MonotoneChainEngine.chain(xs, ys, order, 0, order.length, repaired, null);
+        return Arrays.copyOf(repaired, size);
+    }
+
+    /**
+     * Move the points strictly to the right of p->q to the front of a range.
+     *
+     * @return the position just past the moved points.
+     */
+    private static int partition(double[] xs, double[] ys, int[] points, int from, int to, int p, int q) {
+        double px = xs[p];
+        double py = ys[p];
+        double qx = xs[q];
+        double qy = ys[q];
+        int split = from;
+        for (int k = from; k < to; k++) {
+            int i = points[k];
+            if (Geometry.orientation(px, py, qx, qy, xs[i], ys[i]) < 0) {
+                points[k] = points[split];
+                points[split++] = i;
+            }
+        }
+        return split;
+    }
+
+    /**
+     * Finds the hull vertices strictly to the right of the line p->q, in order from p to q.
+     */
+    private static class Side extends RecursiveTask<int[]> {
+
+        private final double[] xs;
+
+        private final double[] ys;
+
+        private final int[] points;
+
+        private final int from;
+
+        private final int to;
+
+        private final int p;
+
+        private final int q;
+
+        private final int threshold;
+
+        private final HullListener listener;
+
+        /**
+         * Constructor
+         *
+         * @param points the point indices; the range from..to holds the points strictly to the right of p->q.
+         */
+        Side(double[] xs, double[] ys, int[] points, int from, int to, int p, int q, int threshold, HullListener listener) {
+            this.xs = xs;
+            this.ys = ys;
+            this.points = points;
+            this.from = from;
+            this.to = to;
+            this.p = p;
+            this.q = q;
+            this.threshold = threshold;
+            this.listener = listener;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to == from) {
+                return new int[0];
+            }
+            double px = xs[p];
+            double py = ys[p];
+            double qx = xs[q];
+            double qy = ys[q];
+            int farthest = OrientationKernels.farthestRight(xs, ys, points, from, to, px, py, qx, qy);
+            if (listener != null) {
+                listener.candidate(p, farthest);
+            }
+            int first = partition(xs, ys, points, from, to, p, farthest);
+            int second = partition(xs, ys, points, first, to, farthest, q);
+            Side before = new Side(xs, ys, points, from, first, p, farthest, threshold, listener);
+            Side after = new Side(xs, ys, points, first, second, farthest, q, threshold, listener);
+            int[] left;
+            int[] right;
+            if (to - from >= threshold) {
+                after.fork();
+                left = before.compute();
+                right = after.join();
+            } else {
+                left = before.compute();
+                right = after.compute();
+            }
+            int[] chain = Arrays.copyOf(left, left.length + right.length + 1);
+            chain[left.length] = farthest;
+            System.arraycopy(right, 0, chain, left.length + 1, right.length);
+            return chain;
+        }
+    }
+}
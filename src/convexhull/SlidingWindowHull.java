@@ -0,0 +1,310 @@
+package convexhull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SlidingWindowHull.java
+ * <p/>
+ * The convex hull of the most recent points of a stream, limited by a number of points, an age, or both. Points are collected in
+ * buckets; when a bucket fills up its hull is computed once and the bucket joins a queue of sealed buckets. The queue is kept as
+ * two stacks of hulls: new buckets go on the back stack, which keeps the hull of everything on it, and old buckets are taken from
+ * the front stack, where each bucket keeps the hull of itself and every newer bucket on that stack. When the front stack runs out
+ * the back stack is turned over onto it. The oldest bucket, which may have partly expired, is kept outside the stacks as raw
+ * points. Eviction is therefore amortized O(h log h / B) per point for buckets of B points, and the current hull is the hull of
+ * at most two stored hulls and two partial buckets. It is cached until the window changes. Not synchronized.
+ */
+public class SlidingWindowHull {
+
+    /**
+     * The default number of points in a bucket.
+     */
+    public static final int DEFAULT_BUCKET_SIZE = 256;
+
+    private static final HullEngine ENGINE = new MonotoneChainEngine();
+
+    /**
+     * A run of consecutive points.
+     */
+    private static class Bucket {
+
+        final double[] xs;
+
+        final double[] ys;
+
+        final long[] times;
+
+        /**
+         * The position of the oldest point that has not expired.
+         */
+        int start;
+
+        int end;
+
+        /**
+         * The hull of this bucket's points, once it is full.
+         */
+        PointSet hull;
+
+        /**
+         * On the front stack, the hull of this bucket and every newer bucket on the stack.
+         */
+        PointSet suffix;
+
+        Bucket(int capacity) {
+            xs = new double[capacity];
+            ys = new double[capacity];
+            times = new long[capacity];
+        }
+
+        int size() {
+            return end - start;
+        }
+    }
+
+    private final int maxPoints;
+
+    private final long maxAge;
+
+    private final int bucketSize;
+
+    /**
+     * The oldest sealed bucket, whose points are expired from the front, or null if no bucket is sealed.
+     */
+    private Bucket head;
+
+    /**
+     * Sealed buckets after the head, oldest on top.
+     */
+    private final ArrayDeque<Bucket> front = new ArrayDeque<Bucket>();
+
+    /**
+     * Sealed buckets after the front stack, oldest first.
+     */
+    private final List<Bucket> back = new ArrayList<Bucket>();
+
+    /**
+     * The hull of every bucket on the back stack.
+     */
+    private PointSet backHull = new PointSet();
+
+    /**
+     * The bucket new points are added to.
+     */
+    private Bucket open;
+
+    private int size;
+
+    private long latest = Long.MIN_VALUE;
+
+    /**
+     * The current hull, or null if the window has changed since it was last computed.
+     */
+    private PointSet hull;
+
+    /**
+     * Constructor for a window of the most recent points.
+     *
+     * @param maxPoints the number of points to keep.
+     */
+    public SlidingWindowHull(int maxPoints) {
+        this(maxPoints, Long.MAX_VALUE, DEFAULT_BUCKET_SIZE);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param maxPoints  the number of points to keep, or Integer.MAX_VALUE for no limit.
+     * @param maxAge     points whose time is more than this before the latest time are dropped, or Long.MAX_VALUE for no limit.
+     * @param bucketSize the number of points in a bucket.
+     */
+    public SlidingWindowHull(int maxPoints, long maxAge, int bucketSize) {
+        if (maxPoints < 1) {
+            throw new IllegalArgumentException("Illegal window size: " + maxPoints);
+        }
+        if (maxAge < 0) {
+            throw new IllegalArgumentException("Illegal age: " + maxAge);
+        }
+        if (bucketSize < 1) {
+            throw new IllegalArgumentException("Illegal bucket size: " + bucketSize);
+        }
+        this.maxPoints = maxPoints;
+        this.maxAge = maxAge;
+        this.bucketSize = bucketSize;
+        this.open = new Bucket(bucketSize);
+    }
+
+    /**
+     * Add a point at the latest time seen so far.
+     *
+     * @param x the x coordinate.
+     * @param y the y coordinate.
+     */
+    public void add(double x, double y) {
+        add(x, y, latest == Long.MIN_VALUE ? 0 : latest);
+    }
+
+    /**
+     * Add a point, then drop the points that have left the window.
+     *
+     * @param x    the x coordinate.
+     * @param y    the y coordinate.
+     * @param time the time of the point, no earlier than any point added before.
+     */
+    public void add(double x, double y, long time) {
+        if (time < latest) {
+            throw new IllegalArgumentException("Time went backwards: " + time + " < " + latest);
+        }
+        latest = time;
+        open.xs[open.end] = x;
+        open.ys[open.end] = y;
+        open.times[open.end] = time;
+        open.end++;
+        size++;
+        if (open.end == bucketSize) {
+            seal();
+        }
+        evict();
+        hull = null;
+    }
+
+    /**
+     * Advance the time without adding a point, dropping the points that have become too old.
+     *
+     * @param now the current time, no earlier than any point added before.
+     */
+    public void advance(long now) {
+        if (now < latest) {
+            throw new IllegalArgumentException("Time went backwards: " + now + " < " + latest);
+        }
+        latest = now;
+        if (evict()) {
+            hull = null;
+        }
+    }
+
+    /**
+     * Get the number of points in the window.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Get the hull of the points in the window, in counter-clockwise order starting with the point with the smallest x (and then y)
+     * coordinate.
+     *
+     * @return a new point set holding the hull.
+     */
+    public PointSet toPointSet() {
+        if (hull == null) {
+            PointSet points = new PointSet();
+            if (head != null) {
+                addRange(points, head);
+            }
+            if (!front.isEmpty()) {
+                addAll(points, front.peek().suffix);
+            }
+            addAll(points, backHull);
+            addRange(points, open);
+            hull = hullOf(points);
+        }
+        PointSet copy = new PointSet(hull.size());
+        addAll(copy, hull);
+        return copy;
+    }
+
+    /**
+     * Move the full open bucket onto the queue.
+     */
+    private void seal() {
+        Bucket bucket = open;
+        open = new Bucket(bucketSize);
+        if (head == null) {
+            // The queue is empty, so the bucket is the oldest and needs no hull of its own.
+            head = bucket;
+            return;
+        }
+        bucket.hull = hullOf(new PointSet(bucket.xs, bucket.ys));
+        back.add(bucket);
+        PointSet points = new PointSet(backHull.size() + bucket.hull.size());
+        addAll(points, backHull);
+        addAll(points, bucket.hull);
+        backHull = hullOf(points);
+    }
+
+    /**
+     * Drop the oldest points while the window is too large or they are too old.
+     *
+     * @return whether any point was dropped.
+     */
+    private boolean evict() {
+        boolean evicted = false;
+        while (size > maxPoints || (size > 0 && latest - oldestTime() > maxAge)) {
+            if (head != null) {
+                head.start++;
+                if (head.start == head.end) {
+                    head = next();
+                }
+            } else {
+                open.start++;
+                if (open.start == open.end) {
+                    open.start = 0;
+                    open.end = 0;
+                }
+            }
+            size--;
+            evicted = true;
+        }
+        return evicted;
+    }
+
+    private long oldestTime() {
+        Bucket oldest = head != null ? head : open;
+        return oldest.times[oldest.start];
+    }
+
+    /**
+     * Take the oldest sealed bucket off the queue, turning the back stack over onto the front stack if the front is empty.
+     *
+     * @return the bucket, or null if the queue is empty.
+     */
+    private Bucket next() {
+        if (front.isEmpty()) {
+            PointSet suffix = new PointSet();
+            for (int k = back.size() - 1; k >= 0; k--) {
+                Bucket bucket = back.get(k);
+                PointSet points = new PointSet(suffix.size() + bucket.hull.size());
+                addAll(points, suffix);
+                addAll(points, bucket.hull);
+                suffix = hullOf(points);
+                bucket.suffix = suffix;
+                front.push(bucket);
+            }
+            back.clear();
+            backHull = new PointSet();
+        }
+        return front.poll();
+    }
+
+    private static PointSet hullOf(PointSet points) {
+        return points.subset(ENGINE.computeHull(points));
+    }
+
+    private static void addAll(PointSet to, PointSet from) {
+        for (int i = 0; i < from.size(); i++) {
+            to.add(from.getX(i), from.getY(i));
+        }
+    }
+
+    private static void addRange(PointSet to, Bucket from) {
+        for (int i = from.start; i < from.end; i++) {
+            to.add(from.xs[i], from.ys[i]);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package convexhull;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * TracePlayer.java
+ * <p/>
+ * Plays a recorded HullTrace back to a scene at a fixed frame rate. Each frame, the player hands the scene every step that has
+ * come due at the current speed and then has it render once, so a fast speed or a slow render skips frames rather than falling
+ * behind. The speed can be changed and the player moved to any step from another thread while it plays; moving backwards resets
+ * the scene and replays the trace from its first step.
+ */
+public class TracePlayer {
+
+    /**
+     * The default number of frames per second.
+     */
+    public static final int DEFAULT_FRAME_RATE = 30;
+
+    /**
+     * Something that shows the steps of a hull computation. The listener methods update its state, and only render draws it.
+     */
+    public interface Scene extends HullListener {
+
+        /**
+         * Go back to the state before the first step.
+         */
+        void reset();
+
+        /**
+         * Draw the current state.
+         */
+        void render();
+    }
+
+    private final HullTrace trace;
+
+    private final Scene scene;
+
+    private final int frameRate;
+
+    /**
+     * Steps per second.
+     */
+    private volatile double speed;
+
+    /**
+     * The next step to hand the scene. Guarded by this.
+     */
+    private long position;
+
+    /**
+     * Constructor
+     *
+     * @param trace the trace to play.
+     * @param scene the scene to play it to.
+     * @param speed the number of steps to play per second.
+     */
+    public TracePlayer(HullTrace trace, Scene scene, double speed) {
+        this(trace, scene, speed, DEFAULT_FRAME_RATE);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param trace     the trace to play.
+     * @param scene     the scene to play it to.
+     * @param speed     the number of steps to play per second.
+     * @param frameRate the number of frames per second.
+     */
+    public TracePlayer(HullTrace trace, Scene scene, double speed, int frameRate) {
+        if (frameRate < 1) {
+            throw new IllegalArgumentException("Illegal frame rate: " + frameRate);
+        }
+        this.trace = trace;
+        this.scene = scene;
+        this.frameRate = frameRate;
+        this.position = trace.first();
+        setSpeed(speed);
+    }
+
+    /**
+     * Play the trace from the current position to its end, returning once the last step has been rendered.
+     */
+    public void play() {
+        long period = 1000000000L / frameRate;
+        long last = System.nanoTime();
+        double owed = 0;
+        while (true) {
+            long now = System.nanoTime();
+            synchronized (this) {
+                // Steps are owed for the time since the last frame, however long that was.
+                owed += speed * (now - last) / 1e9;
+                long due = (long) Math.min(owed, trace.end() - position);
+                if (due > 0) {
+                    owed -= due;
+                    trace.replay(position, position + due, scene);
+                    position += due;
+                    scene.render();
+                }
+                if (position >= trace.end()) {
+                    return;
+                }
+            }
+            last = now;
+            long wait = period - (System.nanoTime() - now);
+            if (wait > 0) {
+                try {
+                    Thread.sleep(wait / 1000000, (int) (wait % 1000000));
+                } catch (InterruptedException ex) {
+                    Logger.getLogger(TracePlayer.class.getName()).log(Level.SEVERE, null, ex);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Move to a step and render the scene there.
+     *
+     * @param step the number of the next step to play, which is clamped to the steps the trace holds.
+     */
+    public synchronized void seek(long step) {
+        step = Math.max(trace.first(), Math.min(trace.end(), step));
+        if (step < position) {
+            scene.reset();
+            position = trace.first();
+        }
+        trace.replay(position, step, scene);
+        position = step;
+        scene.render();
+    }
+
+    /**
+     * Get the number of the next step to play.
+     */
+    public synchronized long getPosition() {
+        return position;
+    }
+
+    /**
+     * Get the number of steps played per second.
+     */
+    public double getSpeed() {
+        return speed;
+    }
+
+    /**
+     * Set the number of steps to play per second. A speed of zero pauses playback.
+     */
+    public void setSpeed(double speed) {
+        if (!(speed >= 0)) {
+            throw new IllegalArgumentException("Illegal speed: " + speed);
+        }
+        this.speed = speed;
+    }
+}
@@ -0,0 +1,104 @@
+package convexhull;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * VectorKernels.java
+ * <p/>
+ * The kernels of OrientationKernels written with the incubating Vector API, so that each pass runs a full machine vector of
+ * points at a time rather than relying on the JIT to vectorize a scalar loop, which it does not do for these reductions. Every
+ * lane does exactly the arithmetic the scalar kernel does for its point, so the results agree bit for bit. Only loaded when the
+ * jdk.incubator.vector module is present; OrientationKernels checks before calling.
+ */
+final class VectorKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private static final int LANES = SPECIES.length();
+
+    private static final double UNDERFLOW_BOUND = 2 * Geometry.ORIENTATION_UNDERFLOW;
+
+    /**
+     * The positions 0, 1, 2, ... of the lanes, for tracking which point each lane holds.
+     */
+    private static final DoubleVector LANE_POSITIONS;
+
+    static {
+        double[] positions = new double[LANES];
+        for (int lane = 0; lane < LANES; lane++) {
+            positions[lane] = lane;
+        }
+        LANE_POSITIONS = DoubleVector.fromArray(SPECIES, positions, 0);
+    }
+
+    private VectorKernels() {
+    }
+
+    /**
+     * @see OrientationKernels#leftMargin(double[], double[], int, int, double, double, double, double)
+     */
+    static double leftMargin(double[] xs, double[] ys, int from, int to, double ax, double ay, double bx, double by) {
+        DoubleVector margins = DoubleVector.broadcast(SPECIES, Double.POSITIVE_INFINITY);
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += LANES) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, xs, i);
+            DoubleVector y = DoubleVector.fromArray(SPECIES, ys, i);
+            DoubleVector left = x.neg().add(ax).mul(y.neg().add(by));
+            DoubleVector right = y.neg().add(ay).mul(x.neg().add(bx));
+            DoubleVector error = left.abs().add(right.abs()).mul(Geometry.ORIENTATION_ERROR_BOUND).add(UNDERFLOW_BOUND);
+            DoubleVector m = left.sub(right).sub(error);
+            margins = margins.blend(m, m.lt(margins));
+        }
+        double margin = margins.reduceLanes(VectorOperators.MIN);
+        for (; i < to; i++) {
+            double left = (ax - xs[i]) * (by - ys[i]);
+            double right = (ay - ys[i]) * (bx - xs[i]);
+            double m = left - right - (Geometry.ORIENTATION_ERROR_BOUND * (Math.abs(left) + Math.abs(right)) + UNDERFLOW_BOUND);
+            margin = m < margin ? m : margin;
+        }
+        return margin;
+    }
+
+    /**
+     * @see OrientationKernels#lowest(double[], double[], int, int)
+     */
+    static int minimum(double[] major, double[] minor, int from, int to, double sign) {
+        DoubleVector bestMajor = DoubleVector.broadcast(SPECIES, Double.NaN);
+        DoubleVector bestMinor = DoubleVector.broadcast(SPECIES, Double.NaN);
+        DoubleVector bestPosition = DoubleVector.broadcast(SPECIES, -1);
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        if (i < bound) {
+            bestMajor = DoubleVector.fromArray(SPECIES, major, i).mul(sign);
+            bestMinor = DoubleVector.fromArray(SPECIES, minor, i).mul(sign);
+            bestPosition = LANE_POSITIONS.add(i);
+            i += LANES;
+        }
+        for (; i < bound; i += LANES) {
+            DoubleVector a = DoubleVector.fromArray(SPECIES, major, i).mul(sign);
+            DoubleVector b = DoubleVector.fromArray(SPECIES, minor, i).mul(sign);
+            VectorMask<Double> smaller = a.lt(bestMajor).or(a.eq(bestMajor).and(b.lt(bestMinor)));
+            bestMajor = bestMajor.blend(a, smaller);
+            bestMinor = bestMinor.blend(b, smaller);
+            bestPosition = bestPosition.blend(LANE_POSITIONS.add(i), smaller);
+        }
+        // The first position among the lanes, then the tail, in order, as the scalar loop would find them.
+        int best = -1;
+        for (int lane = 0; lane < LANES; lane++) {
+            int position = (int) bestPosition.lane(lane);
+            if (position >= 0 && (best < 0 || OrientationKernels.precedes(major, minor, position, best, sign)
+                    || (!OrientationKernels.precedes(major, minor, best, position, sign) && position < best))) {
+                best = position;
+            }
+        }
+        for (; i < to; i++) {
+            if (best < 0 || OrientationKernels.precedes(major, minor, i, best, sign)) {
+                best = i;
+            }
+        }
+        return best;
+    }
+}
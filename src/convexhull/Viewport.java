@@ -0,0 +1,111 @@
+package convexhull;
+
+/**
+ * Viewport.java
+ * <p/>
+ * The part of the graph shown in the window. Graph coordinates are the pixel coordinates of the unzoomed window; the viewport
+ * scales them about its top left corner and shifts them, so that the user can zoom in on part of a large point set and pan
+ * around it. Points outside the window can be culled before anything is drawn. A viewport may be changed from the event thread
+ * while another thread draws with it.
+ */
+public class Viewport {
+
+    /**
+     * The smallest and largest scale allowed.
+     */
+    public static final double MIN_SCALE = 0.25, MAX_SCALE = 4096;
+
+    /**
+     * The graph coordinates at the top left corner of the window.
+     */
+    private double left, top;
+
+    /**
+     * Window pixels per graph unit.
+     */
+    private double scale = 1;
+
+    /**
+     * Get the window x coordinate of a graph x coordinate.
+     */
+    public synchronized double screenX(double x) {
+        return (x - left) * scale;
+    }
+
+    /**
+     * Get the window y coordinate of a graph y coordinate.
+     */
+    public synchronized double screenY(double y) {
+        return (y - top) * scale;
+    }
+
+    /**
+     * Get the number of window pixels per graph unit.
+     */
+    public synchronized double getScale() {
+        return scale;
+    }
+
+    /**
+     * Get the graph x coordinate at the left edge of the window.
+     */
+    public synchronized double getLeft() {
+        return left;
+    }
+
+    /**
+     * Get the graph y coordinate at the top edge of the window.
+     */
+    public synchronized double getTop() {
+        return top;
+    }
+
+    /**
+     * Tell whether a point is in a window of the given size, or near enough its edge that a glyph drawn there would show.
+     *
+     * @param x      the graph x coordinate.
+     * @param y      the graph y coordinate.
+     * @param size   the width and height of the window.
+     * @param margin how far outside the window to count as inside, in window pixels.
+     */
+    public synchronized boolean isVisible(double x, double y, int size, double margin) {
+        double sx = (x - left) * scale;
+        double sy = (y - top) * scale;
+        return sx >= -margin && sx <= size + margin && sy >= -margin && sy <= size + margin;
+    }
+
+    /**
+     * Zoom in or out, keeping the graph point under a window point where it is.
+     *
+     * @param factor how much to multiply the scale by; more than one zooms in.
+     * @param sx     the window x coordinate to zoom about.
+     * @param sy     the window y coordinate to zoom about.
+     */
+    public synchronized void zoom(double factor, double sx, double sy) {
+        double x = left + sx / scale;
+        double y = top + sy / scale;
+        scale = Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale * factor));
+        left = x - sx / scale;
+        top = y - sy / scale;
+    }
+
+    /**
+     * Move the view so the graph follows the mouse.
+     *
+     * @param dx how far to move the graph right, in window pixels.
+     * @param dy how far to move the graph down, in window pixels.
+     */
+    public synchronized void pan(double dx, double dy) {
+        left -= dx / scale;
+        top -= dy / scale;
+    }
+
+    /**
+     * Go back to showing the graph unzoomed.
+     */
+    public synchronized void reset() {
+        left = 0;
+        top = 0;
+        scale = 1;
+    }
+}